@@ -15,6 +15,13 @@ CREATE TABLE transactions (
     receiver_id INT NOT NULL,
     description TEXT,
     amount DECIMAL(10, 2) NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    -- Index composites pour la pagination par curseur de l'historique (WHERE sender_id = ? AND id < ? ORDER BY id DESC)
+    INDEX idx_transactions_sender_id (sender_id, id),
+    INDEX idx_transactions_receiver_id (receiver_id, id),
+    -- Historique et relevés sur une période : parcours d'intervalle (WHERE sender_id = ? AND created_at >= ? AND created_at < ?)
+    INDEX idx_transactions_sender_created (sender_id, created_at),
+    INDEX idx_transactions_receiver_created (receiver_id, created_at),
     CONSTRAINT fk_sender FOREIGN KEY (sender_id) REFERENCES users(id),
     CONSTRAINT fk_receiver FOREIGN KEY (receiver_id) REFERENCES users(id)
 );
@@ -28,6 +35,106 @@ CREATE TABLE user_connections (
     CONSTRAINT fk_connection FOREIGN KEY (connection_id) REFERENCES users(id)
 );
 
+-- Solde de chaque utilisateur (mis à jour avec chaque transaction)
+CREATE TABLE accounts (
+    user_id INT PRIMARY KEY,
+    balance DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    -- > 0 : solde réparti en sous-lignes (comptes très crédités)
+    stripe_count INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_account_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Sous-lignes de solde : solde du compte = accounts.balance + somme des sous-lignes
+CREATE TABLE account_stripes (
+    user_id INT NOT NULL,
+    stripe INT NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, stripe),
+    CONSTRAINT fk_account_stripe_account FOREIGN KEY (user_id) REFERENCES accounts(user_id)
+);
+
+-- Grand livre en partie double : un débit (montant négatif) et un crédit par transaction
+CREATE TABLE ledger_entries (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    transaction_id INT NOT NULL,
+    user_id INT NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    INDEX idx_ledger_entries_user_id (user_id, id),
+    INDEX idx_ledger_entries_transaction_id (transaction_id)
+);
+
+-- Clés d'idempotence des créations de transaction (une clé ne crée qu'un seul paiement)
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    sender_id INT NOT NULL,
+    transaction_id INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_idempotency_transaction FOREIGN KEY (transaction_id) REFERENCES transactions(id)
+);
+
+-- Archive des transactions anciennes (déplacées par TransactionArchiver) : même contenu, sans clé
+-- étrangère, en pages compressées ; elle ne sert qu'aux lectures de l'historique ancien
+CREATE TABLE transactions_archive (
+    id INT PRIMARY KEY,
+    sender_id INT NOT NULL,
+    receiver_id INT NOT NULL,
+    description TEXT,
+    amount DECIMAL(10, 2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_transactions_archive_sender_id (sender_id, id),
+    INDEX idx_transactions_archive_receiver_id (receiver_id, id),
+    INDEX idx_transactions_archive_sender_created (sender_id, created_at),
+    INDEX idx_transactions_archive_receiver_created (receiver_id, created_at)
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+-- Synthèse par utilisateur (totaux et nombres de transactions envoyées / reçues), tenue à jour
+-- avec chaque transaction. Slot 0 : ligne du compte ; slot n + 1 : sous-ligne n d'un compte réparti.
+CREATE TABLE user_transaction_summary (
+    user_id INT NOT NULL,
+    slot INT NOT NULL,
+    total_sent DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    sent_count BIGINT NOT NULL DEFAULT 0,
+    total_received DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    received_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, slot),
+    CONSTRAINT fk_summary_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Reprise d'une base existante (sans effet sur une base vide)
+INSERT INTO accounts (user_id, balance)
+SELECT u.id,
+       COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.receiver_id = u.id), 0)
+     - COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.sender_id = u.id), 0)
+FROM users u;
+
+INSERT INTO ledger_entries (transaction_id, user_id, amount)
+SELECT id, sender_id, -amount FROM transactions
+UNION ALL
+SELECT id, receiver_id, amount FROM transactions
+ORDER BY 1;
+
+INSERT INTO user_transaction_summary (user_id, slot, total_sent, sent_count, total_received, received_count)
+SELECT u.id, 0,
+       COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.sender_id = u.id), 0),
+       (SELECT COUNT(*) FROM transactions t WHERE t.sender_id = u.id),
+       COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.receiver_id = u.id), 0),
+       (SELECT COUNT(*) FROM transactions t WHERE t.receiver_id = u.id)
+FROM users u;
+
+-- Compteurs d'identifiants (générateur par table Hibernate, réservés par blocs de 50)
+-- pour que les INSERT puissent être regroupés en lots JDBC
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 50 FROM users
+UNION ALL
+SELECT 'transactions', COALESCE(MAX(id), 0) + 50 FROM transactions
+UNION ALL
+SELECT 'ledger_entries', COALESCE(MAX(id), 0) + 50 FROM ledger_entries;
+
 
 
 💡 Notes importantes
@@ -0,0 +1,44 @@
+-- Partitionnement mensuel de la table transactions (MySQL 8), à appliquer après pay_my_buddy.sql.
+-- Ensuite : paymybuddy.archive.enabled=true et paymybuddy.archive.partitioned=true.
+--
+-- Contraintes MySQL sur une table partitionnée :
+--  - pas de clé étrangère vers ou depuis la table : les contrôles sont faits par TransactionService ;
+--  - la colonne de partitionnement doit faire partie de chaque clé unique, d'où la clé (id, created_at).
+--
+-- Les bornes ci-dessous sont à adapter à la date de migration : p_old reçoit tout l'historique
+-- antérieur à la conservation (12 mois) et sera archivée au premier passage de TransactionArchiver,
+-- qui crée ensuite lui-même les partitions des mois à venir en découpant p_future.
+
+ALTER TABLE idempotency_keys DROP FOREIGN KEY fk_idempotency_transaction;
+
+ALTER TABLE transactions
+    DROP FOREIGN KEY fk_sender,
+    DROP FOREIGN KEY fk_receiver;
+
+ALTER TABLE transactions
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE transactions
+    PARTITION BY RANGE COLUMNS (created_at) (
+        PARTITION p_old VALUES LESS THAN ('2025-11-01'),
+        PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+        PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+-- Vérification : chaque requête d'historique sur une période ne lit que les partitions concernées
+-- EXPLAIN SELECT * FROM transactions WHERE sender_id = 1 AND created_at >= '2026-09-01' AND created_at < '2026-10-01';
@@ -0,0 +1,10 @@
+package com.paymybuddy.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches Caffeine configurés par spring.cache.* ; statistiques exposées par l'actuator (cache.gets, cache.evictions)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,64 @@
+package com.paymybuddy.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Cloison devant la base : au plus "permits" threads utilisent une connexion en même temps.
+// Avec les threads virtuels, les milliers de requêtes en attente se garent sur le sémaphore
+// (sans coût) au lieu d'épuiser le pool Hikari et d'échouer sur son connection-timeout.
+@Aspect
+@Component
+@Order(0) // avant l'intercepteur de transaction, qui prend la connexion dès le début
+@ConditionalOnProperty(name = "paymybuddy.db.bulkhead.enabled", havingValue = "true")
+public class ConnectionBulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    // Un appel imbriqué (service transactionnel -> repository) réutilise le permis déjà pris
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public ConnectionBulkhead(@Value("${paymybuddy.db.bulkhead.permits:10}") int permits,
+                              @Value("${paymybuddy.db.bulkhead.max-wait-ms:30000}") long maxWaitMs) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)"
+            + " || @within(jakarta.transaction.Transactional)"
+            + " || @annotation(jakarta.transaction.Transactional)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] current = depth.get();
+        if (current[0] > 0) {
+            current[0]++;
+            try {
+                return joinPoint.proceed();
+            } finally {
+                current[0]--;
+            }
+        }
+
+        if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+            throw new RejectedExecutionException("Base de données saturée, réessayez plus tard.");
+        }
+        current[0] = 1;
+        try {
+            return joinPoint.proceed();
+        } finally {
+            depth.remove();
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,57 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.service.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+// Génération d'un jeu de données synthétique au démarrage : --paymybuddy.datagen.enabled=true
+// (volumes dans paymybuddy.datagen.*, voir docs/data-generator.md). L'application s'arrête ensuite,
+// sauf avec --paymybuddy.datagen.exit=false.
+@Component
+@ConditionalOnProperty(name = "paymybuddy.datagen.enabled", havingValue = "true")
+public class DataGenerationCommand implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerationCommand.class);
+
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+    private final SyntheticDataGenerator.Plan plan;
+    private final boolean exit;
+
+    public DataGenerationCommand(SyntheticDataGenerator generator,
+                                 ConfigurableApplicationContext context,
+                                 @Value("${paymybuddy.datagen.users:100000}") int users,
+                                 @Value("${paymybuddy.datagen.average-friends:20}") int averageFriends,
+                                 @Value("${paymybuddy.datagen.max-friends:5000}") int maxFriends,
+                                 @Value("${paymybuddy.datagen.degree-exponent:2.5}") double degreeExponent,
+                                 @Value("${paymybuddy.datagen.transactions:1000000}") long transactions,
+                                 @Value("${paymybuddy.datagen.zipf-exponent:1.1}") double zipfExponent,
+                                 @Value("${paymybuddy.datagen.months:12}") int months,
+                                 @Value("${paymybuddy.datagen.batch-rows:1000}") int batchRows,
+                                 @Value("${paymybuddy.datagen.seed:42}") long seed,
+                                 @Value("${paymybuddy.datagen.password:password}") String password,
+                                 @Value("${paymybuddy.datagen.exit:true}") boolean exit) {
+        this.generator = generator;
+        this.context = context;
+        this.plan = new SyntheticDataGenerator.Plan(users, averageFriends, maxFriends, degreeExponent,
+                transactions, zipfExponent, months, batchRows, seed, password);
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(String... args) {
+        SyntheticDataGenerator.Report report = generator.generate(plan);
+        log.info("Jeu de données généré en {} s : {} utilisateurs, {} liens d'amitié, {} transactions, {} écritures",
+                report.elapsed().toSeconds(), report.users(), report.connections(), report.transactions(),
+                report.ledgerEntries());
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.paymybuddy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tâches planifiées (archivage des transactions anciennes, instantané des suggestions d'amis)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,24 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.service.TransactionSummaryService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Recalcul complet de la synthèse au démarrage : --paymybuddy.summary.rebuild=true.
+// Les paiements peuvent déjà arriver : le recalcul verrouille chaque tranche de comptes (voir TransactionSummaryService)
+@Component
+@ConditionalOnProperty(name = "paymybuddy.summary.rebuild", havingValue = "true")
+public class SummaryRebuildCommand implements CommandLineRunner {
+
+    private final TransactionSummaryService transactionSummaryService;
+
+    public SummaryRebuildCommand(TransactionSummaryService transactionSummaryService) {
+        this.transactionSummaryService = transactionSummaryService;
+    }
+
+    @Override
+    public void run(String... args) {
+        transactionSummaryService.rebuild();
+    }
+}
@@ -0,0 +1,28 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.dto.AccountBalance;
+import com.paymybuddy.service.LedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/accounts")
+public class AccountController {
+    private final LedgerService ledgerService;
+
+    @Autowired
+    public AccountController(LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    @GetMapping("/{userId}")
+    public AccountBalance getBalance(@PathVariable Integer userId) {
+        return ledgerService.getAccountBalance(userId);
+    }
+
+    // Active le solde réparti pour un destinataire très sollicité
+    @PutMapping("/{userId}/stripes")
+    public AccountBalance enableStripedBalance(@PathVariable Integer userId, @RequestParam int stripes) {
+        return ledgerService.enableStripedBalance(userId, stripes);
+    }
+}
@@ -1,11 +1,19 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.CursorPage;
+import com.paymybuddy.dto.TransactionStatement;
 import com.paymybuddy.model.Transaction;
+import com.paymybuddy.service.IdempotencyService;
+import com.paymybuddy.service.PaymentPipeline;
+import com.paymybuddy.service.TransactionExportService;
 import com.paymybuddy.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,21 +21,88 @@ import java.util.Optional;
 @RequestMapping("/api/transactions")
 public class TransactionController {
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentPipeline paymentPipeline;
+    private final TransactionExportService transactionExportService;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, IdempotencyService idempotencyService,
+                                 PaymentPipeline paymentPipeline, TransactionExportService transactionExportService) {
         this.transactionService = transactionService;
+        this.idempotencyService = idempotencyService;
+        this.paymentPipeline = paymentPipeline;
+        this.transactionExportService = transactionExportService;
     }
 
+    // Avec Idempotency-Key, un client qui rejoue sa requête reçoit la transaction d'origine
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@RequestBody Transaction transaction) {
-        Transaction created = transactionService.createTransaction(transaction);
+    public ResponseEntity<Transaction> createTransaction(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody Transaction transaction) {
+        if (idempotencyKey != null) {
+            return ResponseEntity.ok(idempotencyService.createOnce(idempotencyKey, transaction));
+        }
+        // En mode pipeline, le paiement est validé avec d'autres dans un même commit
+        Transaction created = paymentPipeline.isEnabled()
+                ? paymentPipeline.submitAndWait(transaction)
+                : transactionService.createTransaction(transaction);
         return ResponseEntity.ok(created);
     }
 
+    // Création en lot : un aller-retour JDBC par lot d'INSERT au lieu d'un par transaction
+    @PostMapping("/batch")
+    public ResponseEntity<List<Transaction>> createTransactions(@RequestBody List<Transaction> transactions) {
+        return ResponseEntity.ok(transactionService.createTransactions(transactions));
+    }
+
+    // Liste paginée par curseur : renvoyer nextCursor dans ?cursor= pour obtenir la page suivante.
+    // from / to (ISO-8601, ex. 2025-01-01T00:00:00Z) restreignent l'historique d'un expéditeur ou d'un destinataire.
     @GetMapping
-    public List<Transaction> getAllTransactions() {
-        return transactionService.getAllTransactions();
+    public CursorPage<Transaction> getAllTransactions(@RequestParam(required = false) Integer senderId,
+                                                      @RequestParam(required = false) Integer receiverId,
+                                                      @RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) Integer cursor,
+                                                      @RequestParam(required = false) Integer size) {
+        boolean period = from != null || to != null;
+        if (senderId != null && period) {
+            return transactionService.getTransactionsBySender(senderId, from, to, cursor, size);
+        }
+        if (receiverId != null && period) {
+            return transactionService.getTransactionsByReceiver(receiverId, from, to, cursor, size);
+        }
+        if (senderId != null) {
+            return transactionService.getTransactionsBySender(senderId, cursor, size);
+        }
+        if (receiverId != null) {
+            return transactionService.getTransactionsByReceiver(receiverId, cursor, size);
+        }
+        return transactionService.getTransactions(cursor, size);
+    }
+
+    // Relevé d'un utilisateur : totaux envoyés / reçus sur [from, to[ (30 derniers jours par défaut)
+    @GetMapping("/statement")
+    public TransactionStatement getStatement(@RequestParam Integer userId,
+                                             @RequestParam(required = false) Instant from,
+                                             @RequestParam(required = false) Instant to) {
+        return transactionService.getStatement(userId, from, to);
+    }
+
+    // Export de tout l'historique, écrit directement dans la réponse au fil de la lecture
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        Optional<TransactionExportService.Format> exportFormat = TransactionExportService.Format.parse(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        TransactionExportService.Format selected = exportFormat.get();
+        StreamingResponseBody body = out -> transactionExportService.export(selected, out);
+        return ResponseEntity.ok()
+                .contentType(selected.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + selected.extension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
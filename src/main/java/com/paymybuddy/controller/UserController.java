@@ -1,6 +1,8 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.TransactionSummary;
 import com.paymybuddy.model.User;
+import com.paymybuddy.service.TransactionSummaryService;
 import com.paymybuddy.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +15,11 @@ import java.util.Optional;
 @RequestMapping("/api/users")
 public class UserController {
     private final UserService userService;
+    private final TransactionSummaryService transactionSummaryService;
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TransactionSummaryService transactionSummaryService) {
         this.userService = userService;
+        this.transactionSummaryService = transactionSummaryService;
     }
 
     @PostMapping
@@ -35,4 +39,10 @@ public class UserController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // Totaux envoyés / reçus lus dans la table de synthèse
+    @GetMapping("/{id}/summary")
+    public TransactionSummary getSummary(@PathVariable Integer id) {
+        return transactionSummaryService.getSummary(id);
+    }
 }
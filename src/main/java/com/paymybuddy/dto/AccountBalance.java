@@ -0,0 +1,7 @@
+package com.paymybuddy.dto;
+
+import java.math.BigDecimal;
+
+// Solde d'un utilisateur ; stripes > 0 quand le solde est réparti en sous-lignes
+public record AccountBalance(Integer userId, BigDecimal balance, int stripes) {
+}
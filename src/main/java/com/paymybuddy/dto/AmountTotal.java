@@ -0,0 +1,15 @@
+package com.paymybuddy.dto;
+
+import java.math.BigDecimal;
+
+// Somme et nombre de transactions d'une période ; sum() vaut null quand aucune ligne ne correspond
+public record AmountTotal(BigDecimal total, long count) {
+
+    public AmountTotal {
+        total = total != null ? total : BigDecimal.ZERO;
+    }
+
+    public AmountTotal plus(AmountTotal other) {
+        return new AmountTotal(total.add(other.total), count + other.count);
+    }
+}
@@ -0,0 +1,21 @@
+package com.paymybuddy.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page de résultats paginée par curseur (keyset sur l'id).
+ * nextCursor vaut null quand il n'y a plus de page suivante.
+ */
+public record CursorPage<T>(List<T> items, Integer nextCursor) {
+
+    // Construit une page à partir de size + 1 lignes lues : la ligne en trop sert
+    // uniquement à savoir s'il existe une page suivante.
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Integer> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(List.copyOf(rows), null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(items, idOf.apply(items.get(items.size() - 1)));
+    }
+}
@@ -0,0 +1,5 @@
+package com.paymybuddy.dto;
+
+// Arête du graphe d'amis : userId a ajouté connectionId
+public record FriendEdge(Integer userId, Integer connectionId) {
+}
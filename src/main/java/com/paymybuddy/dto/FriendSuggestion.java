@@ -0,0 +1,5 @@
+package com.paymybuddy.dto;
+
+// Suggestion d'ami : utilisateur ajouté par mutualFriends de mes amis
+public record FriendSuggestion(Integer userId, String username, String email, int mutualFriends) {
+}
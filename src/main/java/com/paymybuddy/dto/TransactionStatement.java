@@ -0,0 +1,10 @@
+package com.paymybuddy.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Relevé d'un utilisateur sur la période [from, to[
+public record TransactionStatement(Integer userId, Instant from, Instant to,
+                                   BigDecimal totalSent, long sentCount,
+                                   BigDecimal totalReceived, long receivedCount) {
+}
@@ -0,0 +1,12 @@
+package com.paymybuddy.dto;
+
+import java.math.BigDecimal;
+
+// Totaux d'un utilisateur lus dans la table de synthèse, sans agréger les transactions
+public record TransactionSummary(Integer userId, BigDecimal totalSent, long sentCount,
+                                 BigDecimal totalReceived, long receivedCount) {
+
+    public static TransactionSummary empty(Integer userId) {
+        return new TransactionSummary(userId, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+    }
+}
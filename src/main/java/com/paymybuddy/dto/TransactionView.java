@@ -0,0 +1,12 @@
+package com.paymybuddy.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Projection en lecture seule d'une transaction pour l'historique et l'export :
+ * seules les colonnes affichées sont lues, sans charger les entités User.
+ */
+public record TransactionView(Integer id, String senderUsername, String receiverUsername, BigDecimal amount,
+                              String description, Instant createdAt) {
+}
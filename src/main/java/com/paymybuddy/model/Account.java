@@ -0,0 +1,56 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "accounts")
+public class Account implements Persistable<Integer> {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    // Nombre de sous-lignes de solde (0 : solde sur cette seule ligne)
+    @Column(name = "stripe_count", nullable = false)
+    private int stripeCount;
+
+    // L'id est fourni (celui de l'utilisateur) : on évite le SELECT du merge à la création
+    @Transient
+    private boolean isNew = true;
+
+    // Constructeurs
+    public Account() {}
+
+    public Account(Integer userId, BigDecimal balance) {
+        this.userId = userId;
+        this.balance = balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @Override
+    public Integer getId() { return userId; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters et setters
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public int getStripeCount() { return stripeCount; }
+    public void setStripeCount(int stripeCount) { this.stripeCount = stripeCount; }
+
+    public boolean isStriped() { return stripeCount > 0; }
+}
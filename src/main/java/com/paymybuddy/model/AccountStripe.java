@@ -0,0 +1,55 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+// Sous-ligne de solde d'un compte très sollicité : les crédits sont répartis entre N sous-lignes
+@Entity
+@Table(name = "account_stripes")
+@IdClass(AccountStripeId.class)
+public class AccountStripe implements Persistable<AccountStripeId> {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Id
+    private Integer stripe;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @Transient
+    private boolean isNew = true;
+
+    // Constructeurs
+    public AccountStripe() {}
+
+    public AccountStripe(Integer userId, Integer stripe, BigDecimal balance) {
+        this.userId = userId;
+        this.stripe = stripe;
+        this.balance = balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @Override
+    public AccountStripeId getId() { return new AccountStripeId(userId, stripe); }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters et setters
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public Integer getStripe() { return stripe; }
+    public void setStripe(Integer stripe) { this.stripe = stripe; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
@@ -0,0 +1,36 @@
+package com.paymybuddy.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class AccountStripeId implements Serializable {
+    private Integer userId;
+    private Integer stripe;
+
+    public AccountStripeId() {}
+
+    public AccountStripeId(Integer userId, Integer stripe) {
+        this.userId = userId;
+        this.stripe = stripe;
+    }
+
+    // Getters et setters
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public Integer getStripe() { return stripe; }
+    public void setStripe(Integer stripe) { this.stripe = stripe; }
+
+    // equals() et hashCode()
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountStripeId that = (AccountStripeId) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(stripe, that.stripe);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, stripe);
+    }
+}
@@ -0,0 +1,63 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Transaction déplacée dans l'archive (table compressée, hors du jeu de données chaud).
+// Lecture seule : les lignes n'y sont écrites que par TransactionArchiver.
+@Entity
+@Immutable
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_sender_id", columnList = "sender_id, id"),
+        @Index(name = "idx_transactions_archive_receiver_id", columnList = "receiver_id, id"),
+        @Index(name = "idx_transactions_archive_sender_created", columnList = "sender_id, created_at"),
+        @Index(name = "idx_transactions_archive_receiver_created", columnList = "receiver_id, created_at")
+})
+public class ArchivedTransaction {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "sender_id", nullable = false)
+    private Integer senderId;
+
+    @Column(name = "receiver_id", nullable = false)
+    private Integer receiverId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Constructeurs
+    public ArchivedTransaction() {}
+
+    public ArchivedTransaction(Integer id, Integer senderId, Integer receiverId, BigDecimal amount,
+                               String description, Instant createdAt) {
+        this.id = id;
+        this.senderId = senderId;
+        this.receiverId = receiverId;
+        this.amount = amount;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Integer getId() { return id; }
+
+    public Integer getSenderId() { return senderId; }
+
+    public Integer getReceiverId() { return receiverId; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public String getDescription() { return description; }
+
+    public Instant getCreatedAt() { return createdAt; }
+}
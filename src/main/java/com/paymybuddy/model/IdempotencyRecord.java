@@ -0,0 +1,64 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// Clé d'idempotence déjà traitée : la clé primaire garantit qu'un paiement rejoué n'est créé qu'une fois
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord implements Persistable<String> {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String key;
+
+    @Column(name = "sender_id", nullable = false)
+    private Integer senderId;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Integer transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Clé fournie par le client : persist direct, un doublon échoue sur la contrainte d'unicité
+    @Transient
+    private boolean isNew = true;
+
+    // Constructeurs
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String key, Integer senderId, Integer transactionId) {
+        this.key = key;
+        this.senderId = senderId;
+        this.transactionId = transactionId;
+        this.createdAt = Instant.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @Override
+    public String getId() { return key; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters et setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public Integer getSenderId() { return senderId; }
+    public void setSenderId(Integer senderId) { this.senderId = senderId; }
+
+    public Integer getTransactionId() { return transactionId; }
+    public void setTransactionId(Integer transactionId) { this.transactionId = transactionId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,51 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+// Écriture du grand livre : montant négatif au débit, positif au crédit
+@Entity
+@Table(name = "ledger_entries", indexes = {
+        @Index(name = "idx_ledger_entries_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_ledger_entries_transaction_id", columnList = "transaction_id")
+})
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ledger_entries_id")
+    @TableGenerator(name = "ledger_entries_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "ledger_entries", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Integer transactionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    // Constructeurs
+    public LedgerEntry() {}
+
+    public LedgerEntry(Integer transactionId, Integer userId, BigDecimal amount) {
+        this.transactionId = transactionId;
+        this.userId = userId;
+        this.amount = amount;
+    }
+
+    // Getters et setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Integer getTransactionId() { return transactionId; }
+    public void setTransactionId(Integer transactionId) { this.transactionId = transactionId; }
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
@@ -2,20 +2,38 @@ package com.paymybuddy.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_sender_id", columnList = "sender_id, id"),
+        @Index(name = "idx_transactions_receiver_id", columnList = "receiver_id, id"),
+        @Index(name = "idx_transactions_sender_created", columnList = "sender_id, created_at"),
+        @Index(name = "idx_transactions_receiver_created", columnList = "receiver_id, created_at")
+})
+// Expéditeur et destinataire sont chargés à la demande : les lectures qui en ont besoin
+// (API REST, rejeu idempotent) demandent ce graphe pour les obtenir dans la même requête
+@NamedEntityGraph(name = Transaction.WITH_PARTIES, attributeNodes = {
+        @NamedAttributeNode("sender"),
+        @NamedAttributeNode("receiver")
+})
 public class Transaction {
 
+    public static final String WITH_PARTIES = "Transaction.withParties";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Générateur par blocs (table id_sequences) : contrairement à IDENTITY, il permet
+    // à Hibernate de regrouper les INSERT en lots JDBC
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transactions_id")
+    @TableGenerator(name = "transactions_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "transactions", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", nullable = false)
     private User sender;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_id", nullable = false)
     private User receiver;
 
@@ -24,6 +42,9 @@ public class Transaction {
 
     private String description;
 
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
     // Constructeur par défaut
     public Transaction() {
         this.amount = BigDecimal.ZERO; // Initialise à 0.00 pour éviter les null
@@ -38,6 +59,14 @@ public class Transaction {
         this.description = description;
     }
 
+    // Filet de sécurité pour les insertions faites hors de TransactionService
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+
     // Getters et setters
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
@@ -53,4 +82,7 @@ public class Transaction {
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
 }
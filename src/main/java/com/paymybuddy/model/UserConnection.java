@@ -1,19 +1,30 @@
 package com.paymybuddy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Liens d'amitié lus bien plus souvent qu'écrits : cache de second niveau (région « user-connections »)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-connections")
 @Table(name = "user_connections")
 @IdClass(UserConnectionId.class)
+// Associations chargées à la demande ; les listes joignent les deux côtés du lien, car elles sont
+// sérialisées hors session (open-in-view coupé) et peuvent venir du cache de requêtes
+@NamedEntityGraph(name = UserConnection.WITH_BOTH_SIDES,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("connection")})
 public class UserConnection {
 
+    public static final String WITH_BOTH_SIDES = "UserConnection.withBothSides";
+
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "connection_id")
     private User connection;
 
@@ -0,0 +1,92 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+// Totaux envoyés / reçus d'un utilisateur, tenus à jour avec chaque transaction.
+// Slot 0 : ligne protégée par le verrou du compte ; slot n + 1 : ligne protégée par la sous-ligne n
+// d'un compte à solde réparti, pour ne pas recréer un point chaud côté destinataire.
+@Entity
+@Table(name = "user_transaction_summary")
+@IdClass(UserTransactionSummaryId.class)
+public class UserTransactionSummary implements Persistable<UserTransactionSummaryId> {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Id
+    private Integer slot;
+
+    @Column(name = "total_sent", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSent = BigDecimal.ZERO;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "total_received", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalReceived = BigDecimal.ZERO;
+
+    @Column(name = "received_count", nullable = false)
+    private long receivedCount;
+
+    @Transient
+    private boolean isNew = true;
+
+    // Constructeurs
+    public UserTransactionSummary() {}
+
+    public UserTransactionSummary(Integer userId, Integer slot) {
+        this.userId = userId;
+        this.slot = slot;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @Override
+    public UserTransactionSummaryId getId() { return new UserTransactionSummaryId(userId, slot); }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public void recordSent(BigDecimal amount) {
+        totalSent = totalSent.add(amount);
+        sentCount++;
+    }
+
+    public void recordReceived(BigDecimal amount) {
+        totalReceived = totalReceived.add(amount);
+        receivedCount++;
+    }
+
+    // Ajoute les variations accumulées dans une autre ligne
+    public void add(UserTransactionSummary delta) {
+        totalSent = totalSent.add(delta.totalSent);
+        sentCount += delta.sentCount;
+        totalReceived = totalReceived.add(delta.totalReceived);
+        receivedCount += delta.receivedCount;
+    }
+
+    // Getters et setters
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public Integer getSlot() { return slot; }
+    public void setSlot(Integer slot) { this.slot = slot; }
+
+    public BigDecimal getTotalSent() { return totalSent; }
+    public void setTotalSent(BigDecimal totalSent) { this.totalSent = totalSent; }
+
+    public long getSentCount() { return sentCount; }
+    public void setSentCount(long sentCount) { this.sentCount = sentCount; }
+
+    public BigDecimal getTotalReceived() { return totalReceived; }
+    public void setTotalReceived(BigDecimal totalReceived) { this.totalReceived = totalReceived; }
+
+    public long getReceivedCount() { return receivedCount; }
+    public void setReceivedCount(long receivedCount) { this.receivedCount = receivedCount; }
+}
@@ -0,0 +1,36 @@
+package com.paymybuddy.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class UserTransactionSummaryId implements Serializable {
+    private Integer userId;
+    private Integer slot;
+
+    public UserTransactionSummaryId() {}
+
+    public UserTransactionSummaryId(Integer userId, Integer slot) {
+        this.userId = userId;
+        this.slot = slot;
+    }
+
+    // Getters et setters
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public Integer getSlot() { return slot; }
+    public void setSlot(Integer slot) { this.slot = slot; }
+
+    // equals() et hashCode()
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserTransactionSummaryId that = (UserTransactionSummaryId) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(slot, that.slot);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, slot);
+    }
+}
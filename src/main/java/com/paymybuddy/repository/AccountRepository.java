@@ -0,0 +1,28 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.model.Account;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountRepository extends JpaRepository<Account, Integer> {
+
+    // SELECT ... FOR UPDATE sur la ligne du compte
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.userId = :userId")
+    Optional<Account> findByIdForUpdate(@Param("userId") Integer userId);
+
+    // Verrouille les comptes d'une tranche d'utilisateurs, par id croissant comme LedgerService
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.userId between :fromId and :toId order by a.userId")
+    List<Account> findRangeForUpdate(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+
+    // Lecture scalaire : ne place pas l'entité dans le contexte de persistance avant son verrouillage
+    @Query("select a.stripeCount from Account a where a.userId = :userId")
+    Optional<Integer> findStripeCountByUserId(@Param("userId") Integer userId);
+}
@@ -0,0 +1,31 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.model.AccountStripe;
+import com.paymybuddy.model.AccountStripeId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountStripeRepository extends JpaRepository<AccountStripe, AccountStripeId> {
+
+    // Verrouille une seule sous-ligne : les autres restent disponibles pour les paiements concurrents
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountStripe s where s.userId = :userId and s.stripe = :stripe")
+    Optional<AccountStripe> findForUpdate(@Param("userId") Integer userId, @Param("stripe") Integer stripe);
+
+    // Sous-lignes d'une tranche d'utilisateurs, dans l'ordre (utilisateur, sous-ligne) de LedgerService
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountStripe s where s.userId between :fromId and :toId order by s.userId, s.stripe")
+    List<AccountStripe> findRangeForUpdate(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountStripe s where s.userId = :userId")
+    BigDecimal sumBalanceByUserId(@Param("userId") Integer userId);
+
+    long countByUserId(Integer userId);
+}
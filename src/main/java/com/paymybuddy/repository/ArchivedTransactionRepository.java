@@ -0,0 +1,78 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.dto.AmountTotal;
+import com.paymybuddy.dto.TransactionView;
+import com.paymybuddy.model.ArchivedTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Mêmes lectures que TransactionRepository, sur la table d'archive. Les agrégats et l'export
+// ignorent les lignes encore présentes dans la table chaude (copiées, partition pas encore supprimée)
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Integer> {
+
+    List<ArchivedTransaction> findBySenderIdAndIdLessThanOrderByIdDesc(Integer senderId, Integer cursor, Limit limit);
+    List<ArchivedTransaction> findByReceiverIdAndIdLessThanOrderByIdDesc(Integer receiverId, Integer cursor, Limit limit);
+    List<ArchivedTransaction> findByIdLessThanOrderByIdDesc(Integer cursor, Limit limit);
+
+    @Query("select a from ArchivedTransaction a where a.senderId = :senderId "
+            + "and a.createdAt >= :from and a.createdAt < :to and a.id < :cursor order by a.id desc")
+    List<ArchivedTransaction> findBySenderIdInPeriod(@Param("senderId") Integer senderId,
+                                                     @Param("from") Instant from,
+                                                     @Param("to") Instant to,
+                                                     @Param("cursor") Integer cursor,
+                                                     Limit limit);
+
+    @Query("select a from ArchivedTransaction a where a.receiverId = :receiverId "
+            + "and a.createdAt >= :from and a.createdAt < :to and a.id < :cursor order by a.id desc")
+    List<ArchivedTransaction> findByReceiverIdInPeriod(@Param("receiverId") Integer receiverId,
+                                                       @Param("from") Instant from,
+                                                       @Param("to") Instant to,
+                                                       @Param("cursor") Integer cursor,
+                                                       Limit limit);
+
+    @Query("select new com.paymybuddy.dto.TransactionView(a.id, s.username, r.username, a.amount, a.description, a.createdAt) "
+            + "from ArchivedTransaction a join User s on s.id = a.senderId join User r on r.id = a.receiverId "
+            + "where a.senderId = :senderId and a.id < :cursor order by a.id desc")
+    List<TransactionView> findViewsBySenderId(@Param("senderId") Integer senderId,
+                                              @Param("cursor") Integer cursor,
+                                              Limit limit);
+
+    @Query("select new com.paymybuddy.dto.TransactionView(a.id, s.username, r.username, a.amount, a.description, a.createdAt) "
+            + "from ArchivedTransaction a join User s on s.id = a.senderId join User r on r.id = a.receiverId "
+            + "where a.senderId = :senderId and a.createdAt >= :from and a.createdAt < :to and a.id < :cursor "
+            + "order by a.id desc")
+    List<TransactionView> findViewsBySenderIdInPeriod(@Param("senderId") Integer senderId,
+                                                      @Param("from") Instant from,
+                                                      @Param("to") Instant to,
+                                                      @Param("cursor") Integer cursor,
+                                                      Limit limit);
+
+    @Query("select new com.paymybuddy.dto.AmountTotal(sum(a.amount), count(a)) from ArchivedTransaction a "
+            + "where a.senderId = :userId and a.createdAt >= :from and a.createdAt < :to "
+            + "and not exists (select 1 from Transaction t where t.id = a.id)")
+    AmountTotal sumSentInPeriod(@Param("userId") Integer userId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select new com.paymybuddy.dto.AmountTotal(sum(a.amount), count(a)) from ArchivedTransaction a "
+            + "where a.receiverId = :userId and a.createdAt >= :from and a.createdAt < :to "
+            + "and not exists (select 1 from Transaction t where t.id = a.id)")
+    AmountTotal sumReceivedInPeriod(@Param("userId") Integer userId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.paymybuddy.dto.TransactionView(a.id, s.username, r.username, a.amount, a.description, a.createdAt) "
+            + "from ArchivedTransaction a join User s on s.id = a.senderId join User r on r.id = a.receiverId "
+            + "where not exists (select 1 from Transaction t where t.id = a.id) order by a.id")
+    Stream<TransactionView> streamAllViews();
+}
@@ -0,0 +1,7 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+}
@@ -0,0 +1,17 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.model.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Integer> {
+    List<LedgerEntry> findByTransactionId(Integer transactionId);
+
+    // Solde recalculé depuis le grand livre, pour le rapprochement avec accounts.balance
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntry e where e.userId = :userId")
+    BigDecimal sumByUserId(@Param("userId") Integer userId);
+}
@@ -1,11 +1,103 @@
 package com.paymybuddy.repository;
 
+import com.paymybuddy.dto.AmountTotal;
+import com.paymybuddy.dto.TransactionView;
 import com.paymybuddy.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// Les méthodes qui renvoient des entités Transaction (API REST, rejeu idempotent) chargent
+// expéditeur et destinataire dans la même requête via le graphe Transaction.WITH_PARTIES
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
+    @Override
+    @EntityGraph(Transaction.WITH_PARTIES)
+    Optional<Transaction> findById(Integer id);
+
+    @Override
+    @EntityGraph(Transaction.WITH_PARTIES)
+    List<Transaction> findAll();
+
+    @EntityGraph(Transaction.WITH_PARTIES)
     List<Transaction> findBySenderId(Integer senderId);
+    @EntityGraph(Transaction.WITH_PARTIES)
     List<Transaction> findByReceiverId(Integer receiverId);
+
+    // Pagination par curseur : on repart de l'id strictement inférieur au dernier id lu,
+    // ce qui s'appuie sur les index (sender_id, id) / (receiver_id, id)
+    @EntityGraph(Transaction.WITH_PARTIES)
+    List<Transaction> findBySenderIdAndIdLessThanOrderByIdDesc(Integer senderId, Integer cursor, Limit limit);
+    @EntityGraph(Transaction.WITH_PARTIES)
+    List<Transaction> findByReceiverIdAndIdLessThanOrderByIdDesc(Integer receiverId, Integer cursor, Limit limit);
+    @EntityGraph(Transaction.WITH_PARTIES)
+    List<Transaction> findByIdLessThanOrderByIdDesc(Integer cursor, Limit limit);
+
+    // Projection de l'historique : une seule requête avec jointure sur le destinataire,
+    // aucune entité User (ni mot de passe) n'est chargée
+    @Query("select new com.paymybuddy.dto.TransactionView(t.id, s.username, r.username, t.amount, t.description, t.createdAt) "
+            + "from Transaction t join t.sender s join t.receiver r "
+            + "where s.id = :senderId and t.id < :cursor order by t.id desc")
+    List<TransactionView> findViewsBySenderId(@Param("senderId") Integer senderId,
+                                              @Param("cursor") Integer cursor,
+                                              Limit limit);
+
+    // Historique sur une période [from, to[ : parcours d'intervalle sur les index (sender_id, created_at)
+    // et (receiver_id, created_at), toujours paginé par curseur sur l'id
+    @EntityGraph(Transaction.WITH_PARTIES)
+    @Query("select t from Transaction t where t.sender.id = :senderId "
+            + "and t.createdAt >= :from and t.createdAt < :to and t.id < :cursor order by t.id desc")
+    List<Transaction> findBySenderIdInPeriod(@Param("senderId") Integer senderId,
+                                             @Param("from") Instant from,
+                                             @Param("to") Instant to,
+                                             @Param("cursor") Integer cursor,
+                                             Limit limit);
+
+    @EntityGraph(Transaction.WITH_PARTIES)
+    @Query("select t from Transaction t where t.receiver.id = :receiverId "
+            + "and t.createdAt >= :from and t.createdAt < :to and t.id < :cursor order by t.id desc")
+    List<Transaction> findByReceiverIdInPeriod(@Param("receiverId") Integer receiverId,
+                                               @Param("from") Instant from,
+                                               @Param("to") Instant to,
+                                               @Param("cursor") Integer cursor,
+                                               Limit limit);
+
+    @Query("select new com.paymybuddy.dto.TransactionView(t.id, s.username, r.username, t.amount, t.description, t.createdAt) "
+            + "from Transaction t join t.sender s join t.receiver r "
+            + "where s.id = :senderId and t.createdAt >= :from and t.createdAt < :to and t.id < :cursor "
+            + "order by t.id desc")
+    List<TransactionView> findViewsBySenderIdInPeriod(@Param("senderId") Integer senderId,
+                                                      @Param("from") Instant from,
+                                                      @Param("to") Instant to,
+                                                      @Param("cursor") Integer cursor,
+                                                      Limit limit);
+
+    // Totaux d'un relevé : un parcours d'intervalle par sens, sans lire les lignes hors période
+    @Query("select new com.paymybuddy.dto.AmountTotal(sum(t.amount), count(t)) from Transaction t "
+            + "where t.sender.id = :userId and t.createdAt >= :from and t.createdAt < :to")
+    AmountTotal sumSentInPeriod(@Param("userId") Integer userId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select new com.paymybuddy.dto.AmountTotal(sum(t.amount), count(t)) from Transaction t "
+            + "where t.receiver.id = :userId and t.createdAt >= :from and t.createdAt < :to")
+    AmountTotal sumReceivedInPeriod(@Param("userId") Integer userId, @Param("from") Instant from, @Param("to") Instant to);
+
+    // Export complet : curseur en avant seulement, lu par paquets de 1000 lignes et sans
+    // entité gérée, à consommer dans une transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.paymybuddy.dto.TransactionView(t.id, s.username, r.username, t.amount, t.description, t.createdAt) "
+            + "from Transaction t join t.sender s join t.receiver r order by t.id")
+    Stream<TransactionView> streamAllViews();
 }
@@ -1,12 +1,36 @@
 package com.paymybuddy.repository;
 
+import com.paymybuddy.dto.FriendEdge;
 import com.paymybuddy.model.UserConnection;
 import com.paymybuddy.model.UserConnectionId;
 import com.paymybuddy.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface UserConnectionRepository extends JpaRepository<UserConnection, UserConnectionId> {
+    // Liste d'amis : ids en cache de requêtes, entités lues dans les régions de second niveau.
+    // Les deux côtés du lien sont joints à la requête : rien ne reste en proxy une fois la session fermée.
+    @EntityGraph(UserConnection.WITH_BOTH_SIDES)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<UserConnection> findByUser(User user);
+    @EntityGraph(UserConnection.WITH_BOTH_SIDES)
     List<UserConnection> findByConnection(User connection);
+
+    // Sonde EXISTS sur la clé primaire (user_id, connection_id), sans charger la liste d'amis
+    boolean existsByUserIdAndConnectionId(Integer userId, Integer connectionId);
+
+    // Arêtes du graphe par blocs (pagination par clé), sans charger les entités User
+    @Query("select new com.paymybuddy.dto.FriendEdge(c.user.id, c.connection.id) from UserConnection c "
+            + "where c.user.id > :userId or (c.user.id = :userId and c.connection.id > :connectionId) "
+            + "order by c.user.id, c.connection.id")
+    List<FriendEdge> findEdgesAfter(@Param("userId") Integer userId, @Param("connectionId") Integer connectionId,
+                                    Limit limit);
 }
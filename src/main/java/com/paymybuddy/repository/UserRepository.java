@@ -1,10 +1,19 @@
 package com.paymybuddy.repository;
 
 import com.paymybuddy.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
+    // Résultat gardé dans le cache de requêtes (connexion, recherche d'ami par e-mail)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    @Query("select coalesce(max(u.id), 0) from User u")
+    Integer findMaxId();
 }
@@ -0,0 +1,54 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.dto.TransactionSummary;
+import com.paymybuddy.model.UserTransactionSummary;
+import com.paymybuddy.model.UserTransactionSummaryId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserTransactionSummaryRepository extends JpaRepository<UserTransactionSummary, UserTransactionSummaryId> {
+
+    // Lecture verrouillée : voit la dernière version validée même si la ligne vient d'être créée
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserTransactionSummary s where s.userId = :userId and s.slot = :slot")
+    Optional<UserTransactionSummary> findForUpdate(@Param("userId") Integer userId, @Param("slot") Integer slot);
+
+    // Au plus 1 + 64 lignes par utilisateur : coût constant quel que soit l'historique
+    @Query("select new com.paymybuddy.dto.TransactionSummary(s.userId, sum(s.totalSent), sum(s.sentCount), "
+            + "sum(s.totalReceived), sum(s.receivedCount)) "
+            + "from UserTransactionSummary s where s.userId = :userId group by s.userId")
+    Optional<TransactionSummary> findSummaryByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("delete from UserTransactionSummary s where s.userId between :fromId and :toId")
+    int deleteByUserIdBetween(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+
+    // Recalcul d'une tranche d'utilisateurs à partir des transactions, archivées comprises
+    // (tout est regroupé sur le slot 0) ; une ligne copiée dans l'archive mais pas encore supprimée
+    // de la table chaude n'est comptée qu'une fois
+    @Modifying
+    @Query(value = "INSERT INTO user_transaction_summary "
+            + "(user_id, slot, total_sent, sent_count, total_received, received_count) "
+            + "SELECT u.id, 0, "
+            + "COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.sender_id = u.id), 0) "
+            + "+ COALESCE((SELECT SUM(a.amount) FROM transactions_archive a WHERE a.sender_id = u.id "
+            + "AND NOT EXISTS (SELECT 1 FROM transactions h WHERE h.id = a.id)), 0), "
+            + "(SELECT COUNT(*) FROM transactions t WHERE t.sender_id = u.id) "
+            + "+ (SELECT COUNT(*) FROM transactions_archive a WHERE a.sender_id = u.id "
+            + "AND NOT EXISTS (SELECT 1 FROM transactions h WHERE h.id = a.id)), "
+            + "COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.receiver_id = u.id), 0) "
+            + "+ COALESCE((SELECT SUM(a.amount) FROM transactions_archive a WHERE a.receiver_id = u.id "
+            + "AND NOT EXISTS (SELECT 1 FROM transactions h WHERE h.id = a.id)), 0), "
+            + "(SELECT COUNT(*) FROM transactions t WHERE t.receiver_id = u.id) "
+            + "+ (SELECT COUNT(*) FROM transactions_archive a WHERE a.receiver_id = u.id "
+            + "AND NOT EXISTS (SELECT 1 FROM transactions h WHERE h.id = a.id)) "
+            + "FROM users u WHERE u.id BETWEEN :fromId AND :toId",
+            nativeQuery = true)
+    int rebuildRange(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+}
@@ -0,0 +1,56 @@
+package com.paymybuddy.security;
+
+import com.paymybuddy.model.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal stocké dans la session après connexion : il garde l'id et les données
+ * d'affichage de l'utilisateur pour éviter de relire la table users à chaque page.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Integer id;
+    private final String email;
+    private final String displayName;
+    private String password;
+
+    public AuthenticatedUser(Integer id, String email, String displayName, String password) {
+        this.id = id;
+        this.email = email;
+        this.displayName = displayName;
+        this.password = password;
+    }
+
+    public Integer getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public String getDisplayName() { return displayName; }
+
+    // Copie détachée de l'utilisateur, sans mot de passe
+    public User toUser() {
+        return new User(id, email, displayName, null);
+    }
+
+    // Spring Security identifie l'utilisateur par son email
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return AUTHORITIES; }
+
+    // Appelé après l'authentification : le hash ne reste pas en session
+    @Override
+    public void eraseCredentials() { this.password = null; }
+}
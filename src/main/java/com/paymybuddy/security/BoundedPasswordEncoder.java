@@ -0,0 +1,24 @@
+package com.paymybuddy.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// BCrypt exécuté sur le pool crypto : création de compte (UserService) comme vérification au login
+// (DaoAuthenticationProvider). Reste un BCryptPasswordEncoder pour les beans qui l'injectent par ce type.
+public class BoundedPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final CryptoExecutor cryptoExecutor;
+
+    public BoundedPasswordEncoder(CryptoExecutor cryptoExecutor) {
+        this.cryptoExecutor = cryptoExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return cryptoExecutor.call(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return cryptoExecutor.call(() -> super.matches(rawPassword, encodedPassword));
+    }
+}
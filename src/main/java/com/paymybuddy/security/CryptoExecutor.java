@@ -0,0 +1,86 @@
+package com.paymybuddy.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pool borné pour le hachage des mots de passe (BCrypt, ~50-100 ms de CPU par appel) : au plus
+// "threads" hachages en parallèle et "queue-capacity" en attente. Au-delà, rejet immédiat (503)
+// plutôt que d'occuper tous les cœurs au détriment des paiements.
+// Métriques executor.* {name=crypto} et paymybuddy.crypto.rejected.
+@Component
+public class CryptoExecutor {
+
+    static final String NAME = "crypto";
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter rejected;
+
+    @Autowired
+    public CryptoExecutor(@Value("${paymybuddy.crypto.threads:0}") int threads,
+                          @Value("${paymybuddy.crypto.queue-capacity:64}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        // 0 : la moitié des cœurs, le reste restant disponible pour les requêtes
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory(), (task, executor) -> {
+                    throw new RejectedExecutionException("Trop de connexions en cours, réessayez plus tard.");
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, NAME, List.of());
+        this.rejected = Counter.builder("paymybuddy.crypto.rejected")
+                .description("Hachages de mots de passe refusés, pool crypto saturé")
+                .register(meterRegistry);
+    }
+
+    // Exécute la tâche sur le pool et attend son résultat ; l'appelant ne consomme pas de CPU pendant l'attente
+    public <T> T call(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Hachage du mot de passe interrompu.", e);
+        }
+    }
+
+    public int threads() {
+        return pool.getMaximumPoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, NAME + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,22 +1,41 @@
 package com.paymybuddy.security;
 
 import com.paymybuddy.service.UserService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Configuration
 public class SecurityConfig {
 
+    private final CryptoExecutor cryptoExecutor;
+
+    public SecurityConfig(CryptoExecutor cryptoExecutor) {
+        this.cryptoExecutor = cryptoExecutor;
+    }
 
+    // Hachage et vérification des mots de passe sur le pool crypto borné
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(cryptoExecutor);
     }
 
     @Bean
@@ -24,6 +43,9 @@ public class SecurityConfig {
         http
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/register", "/style.css", "/css/**").permitAll()
+                        // Actuator servi sur le port de management, lié à localhost (management.server.*) :
+                        // le scraper Prometheus le lit sans session, le reste de l'actuator demande une connexion
+                        .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class, HealthEndpoint.class)).permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -37,7 +59,18 @@ public class SecurityConfig {
                         .invalidateHttpSession(true)
                         .deleteCookies("JSESSIONID")
                 )
+                // Pool crypto saturé pendant un login : 503 (les contrôleurs passent par GlobalExceptionHandler)
+                .addFilterBefore(SecurityConfig::rejectWhenSaturated, UsernamePasswordAuthenticationFilter.class)
                 .csrf(csrf -> csrf.disable()); // Pour simplifier le dev
         return http.build();
     }
+
+    private static void rejectWhenSaturated(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } catch (RejectedExecutionException e) {
+            ((HttpServletResponse) response).sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,145 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.FriendEdge;
+import com.paymybuddy.repository.UserConnectionRepository;
+import com.paymybuddy.util.IntHashSet;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Graphe d'amis en mémoire : pour chaque utilisateur (indexé par son id), l'ensemble
+// primitif des ids qu'il a ajoutés. Les ensembles publiés ne sont jamais modifiés :
+// une écriture en publie une copie, donc isFriend se lit sans verrou ni allocation.
+@Component
+public class FriendGraphIndex {
+
+    static final int WARM_UP_CHUNK = 10_000;
+
+    private final UserConnectionRepository userConnectionRepository;
+
+    private volatile AtomicReferenceArray<IntHashSet> friendsByUser = new AtomicReferenceArray<>(1024);
+    private volatile boolean warm;
+
+    @Autowired
+    public FriendGraphIndex(UserConnectionRepository userConnectionRepository) {
+        this.userConnectionRepository = userConnectionRepository;
+    }
+
+    // Chargement au démarrage, par blocs dans l'ordre de la clé primaire
+    @PostConstruct
+    public synchronized void warmUp() {
+        AtomicReferenceArray<IntHashSet> table = new AtomicReferenceArray<>(1024);
+        int lastUser = 0;
+        int lastConnection = 0;
+        List<FriendEdge> chunk;
+        do {
+            chunk = userConnectionRepository.findEdgesAfter(lastUser, lastConnection, Limit.of(WARM_UP_CHUNK));
+            for (FriendEdge edge : chunk) {
+                table = withCapacity(table, edge.userId());
+                IntHashSet friends = table.get(edge.userId());
+                if (friends == null) {
+                    friends = new IntHashSet();
+                    table.set(edge.userId(), friends);
+                }
+                friends.add(edge.connectionId());
+                lastUser = edge.userId();
+                lastConnection = edge.connectionId();
+            }
+        } while (chunk.size() == WARM_UP_CHUNK);
+        friendsByUser = table;
+        warm = true;
+    }
+
+    public boolean isFriend(int userId, int connectionId) {
+        AtomicReferenceArray<IntHashSet> table = friendsByUser;
+        if (userId < 0 || userId >= table.length()) {
+            return false;
+        }
+        IntHashSet friends = table.get(userId);
+        return friends != null && friends.contains(connectionId);
+    }
+
+    // Copie CSR du graphe {offsets, cibles} pour les calculs par lot, sans relire la base :
+    // les amis de u sont cibles[offsets[u] .. offsets[u + 1]). Chaque ensemble publié est immuable,
+    // la copie se fait donc sans verrou ; les écritures concurrentes sont vues ou non, ligne par ligne
+    int[][] toCsr() {
+        AtomicReferenceArray<IntHashSet> table = friendsByUser;
+        int users = table.length();
+        IntHashSet[] rows = new IntHashSet[users];
+        int[] offsets = new int[users + 1];
+        for (int user = 0; user < users; user++) {
+            rows[user] = table.get(user);
+            offsets[user + 1] = offsets[user] + (rows[user] != null ? rows[user].size() : 0);
+        }
+        int[] targets = new int[offsets[users]];
+        int[] fill = {0};
+        for (int user = 0; user < users; user++) {
+            if (rows[user] != null) {
+                fill[0] = offsets[user];
+                rows[user].forEach(connection -> targets[fill[0]++] = connection);
+            }
+        }
+        int maxTarget = -1;
+        for (int target : targets) {
+            maxTarget = Math.max(maxTarget, target);
+        }
+        // Les ids qui n'apparaissent qu'en cible ont aussi une ligne (vide)
+        if (maxTarget >= users) {
+            offsets = Arrays.copyOf(offsets, maxTarget + 2);
+            Arrays.fill(offsets, users + 1, offsets.length, offsets[users]);
+        }
+        return new int[][]{offsets, targets};
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public synchronized void add(Integer userId, Integer connectionId) {
+        if (userId == null || connectionId == null) {
+            return;
+        }
+        AtomicReferenceArray<IntHashSet> table = withCapacity(friendsByUser, userId);
+        IntHashSet current = table.get(userId);
+        IntHashSet updated = current != null ? current.copy() : new IntHashSet();
+        if (updated.add(connectionId)) {
+            table.set(userId, updated);
+        }
+        friendsByUser = table;
+    }
+
+    public synchronized void remove(Integer userId, Integer connectionId) {
+        AtomicReferenceArray<IntHashSet> table = friendsByUser;
+        if (userId == null || connectionId == null) {
+            return;
+        }
+        if (userId < 0 || userId >= table.length() || table.get(userId) == null) {
+            return;
+        }
+        IntHashSet updated = table.get(userId).copy();
+        if (updated.remove(connectionId)) {
+            table.set(userId, updated.isEmpty() ? null : updated);
+        }
+    }
+
+    // Agrandit la table (par doublement) ; l'ancienne reste lisible jusqu'à la publication
+    private static AtomicReferenceArray<IntHashSet> withCapacity(AtomicReferenceArray<IntHashSet> table, int userId) {
+        if (userId < table.length()) {
+            return table;
+        }
+        int length = table.length();
+        while (length <= userId) {
+            length <<= 1;
+        }
+        AtomicReferenceArray<IntHashSet> grown = new AtomicReferenceArray<>(length);
+        for (int i = 0; i < table.length(); i++) {
+            grown.set(i, table.get(i));
+        }
+        return grown;
+    }
+}
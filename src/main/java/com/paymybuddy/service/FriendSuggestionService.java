@@ -0,0 +1,235 @@
+package com.paymybuddy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paymybuddy.dto.FriendSuggestion;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// « Vous connaissez peut-être » : amis de mes amis, classés par nombre d'amis en commun.
+// Le calcul se fait sur un instantané CSR du graphe (tableaux d'int) copié de FriendGraphIndex,
+// sans relire la base ; le top-K de chaque utilisateur est mis en cache et invalidé quand le graphe change.
+@Service
+public class FriendSuggestionService {
+
+    // En dessous, la collecte des voisins à deux sauts reste séquentielle
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final UserRepository userRepository;
+    private final FriendGraphIndex friendGraphIndex;
+    private final int topK;
+    private final Cache<Integer, List<FriendSuggestion>> suggestions;
+    // Utilisateurs dont les amis ont changé depuis le dernier instantané
+    private final Set<Integer> changedSinceBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public FriendSuggestionService(UserRepository userRepository,
+                                   FriendGraphIndex friendGraphIndex,
+                                   @Value("${paymybuddy.suggestions.top-k:5}") int topK,
+                                   @Value("${paymybuddy.suggestions.cache-size:10000}") int cacheSize) {
+        this.userRepository = userRepository;
+        this.friendGraphIndex = friendGraphIndex;
+        this.topK = Math.max(1, topK);
+        this.suggestions = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    public List<FriendSuggestion> suggestionsFor(Integer userId) {
+        if (snapshot == null) {
+            // Seulement avant le premier passage planifié ; copie mémoire, pas de lecture en base
+            rebuildSnapshot();
+        }
+        return suggestions.get(userId, this::compute);
+    }
+
+    // Appelé après chaque ajout/suppression de userId -> connectionId : seuls userId et ceux
+    // qui l'ont ajouté voient leurs amis à deux sauts changer
+    public void onConnectionChanged(Integer userId, Integer connectionId) {
+        changedSinceBuild.add(userId);
+        invalidate(snapshot, userId);
+    }
+
+    // Reconstruit l'instantané hors des requêtes, au plus une fois par intervalle et seulement si le graphe
+    // a changé. Les entrées recalculées entre-temps l'ont été sur l'ancien instantané : on les invalide
+    // après la publication du nouveau
+    @Scheduled(fixedDelayString = "${paymybuddy.suggestions.rebuild-interval-ms:60000}")
+    public synchronized void rebuildSnapshot() {
+        if (snapshot != null && changedSinceBuild.isEmpty()) {
+            return;
+        }
+        List<Integer> changed = new ArrayList<>(changedSinceBuild);
+        changedSinceBuild.removeAll(changed);
+        Snapshot rebuilt = buildSnapshot();
+        snapshot = rebuilt;
+        for (Integer userId : changed) {
+            invalidate(rebuilt, userId);
+        }
+    }
+
+    Snapshot buildSnapshot() {
+        int[][] csr = friendGraphIndex.toCsr();
+        return new Snapshot(csr[0], csr[1]);
+    }
+
+    private void invalidate(Snapshot s, Integer userId) {
+        suggestions.invalidate(userId);
+        if (s != null) {
+            s.forEachFollower(userId, suggestions::invalidate);
+        }
+    }
+
+    private List<FriendSuggestion> compute(Integer userId) {
+        Snapshot s = snapshot;
+        int[] ranked = rank(s, userId);
+        if (ranked.length == 0) {
+            return List.of();
+        }
+        List<Integer> ids = new ArrayList<>(ranked.length / 2);
+        for (int i = 0; i < ranked.length; i += 2) {
+            ids.add(ranked[i]);
+        }
+        Map<Integer, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<FriendSuggestion> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ranked.length; i += 2) {
+            User user = users.get(ranked[i]);
+            if (user != null) {
+                result.add(new FriendSuggestion(user.getId(), user.getUsername(), user.getEmail(), ranked[i + 1]));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    // Renvoie [id, amis communs, id, amis communs, ...] pour les topK meilleurs candidats
+    int[] rank(Snapshot s, int userId) {
+        int from = s.start(userId);
+        int friends = s.end(userId) - from;
+        if (friends == 0) {
+            return new int[0];
+        }
+
+        // Collecte des voisins à deux sauts : chaque ami recopie sa ligne dans sa tranche
+        int[] starts = new int[friends + 1];
+        for (int i = 0; i < friends; i++) {
+            int friend = s.targets[from + i];
+            starts[i + 1] = starts[i] + s.end(friend) - s.start(friend);
+        }
+        int[] twoHops = new int[starts[friends]];
+        IntStream gather = IntStream.range(0, friends);
+        if (twoHops.length >= PARALLEL_THRESHOLD) {
+            gather = gather.parallel();
+        }
+        gather.forEach(i -> {
+            int friend = s.targets[from + i];
+            System.arraycopy(s.targets, s.start(friend), twoHops, starts[i], s.end(friend) - s.start(friend));
+        });
+        Arrays.parallelSort(twoHops);
+
+        // Comptage par plages de valeurs égales ; on garde les topK (plus d'amis communs, puis plus petit id)
+        long[] best = new long[topK];
+        int kept = 0;
+        int i = 0;
+        while (i < twoHops.length) {
+            int candidate = twoHops[i];
+            int j = i;
+            while (j < twoHops.length && twoHops[j] == candidate) {
+                j++;
+            }
+            if (candidate != userId && !friendGraphIndex.isFriend(userId, candidate)) {
+                long score = ((long) (j - i) << 32) | (Integer.MAX_VALUE - candidate);
+                if (kept < topK) {
+                    best[kept++] = score;
+                } else if (score > best[topK - 1]) {
+                    best[topK - 1] = score;
+                } else {
+                    i = j;
+                    continue;
+                }
+                for (int k = kept - 1; k > 0 && best[k] > best[k - 1]; k--) {
+                    long tmp = best[k];
+                    best[k] = best[k - 1];
+                    best[k - 1] = tmp;
+                }
+            }
+            i = j;
+        }
+
+        int[] ranked = new int[kept * 2];
+        for (int k = 0; k < kept; k++) {
+            ranked[2 * k] = Integer.MAX_VALUE - (int) best[k];
+            ranked[2 * k + 1] = (int) (best[k] >>> 32);
+        }
+        return ranked;
+    }
+
+    // Graphe au format CSR : les amis de u sont targets[offsets[u] .. offsets[u + 1])
+    static final class Snapshot {
+        final int[] offsets;
+        final int[] targets;
+        // Index inverse (qui a ajouté u), construit à la demande pour l'invalidation
+        private volatile int[][] followers;
+
+        Snapshot(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        int start(int user) {
+            return user >= 0 && user < offsets.length - 1 ? offsets[user] : 0;
+        }
+
+        int end(int user) {
+            return user >= 0 && user < offsets.length - 1 ? offsets[user + 1] : 0;
+        }
+
+        void forEachFollower(int user, IntConsumer action) {
+            int[][] reverse = followers();
+            if (user < 0 || user >= reverse[0].length - 1) {
+                return;
+            }
+            for (int i = reverse[0][user]; i < reverse[0][user + 1]; i++) {
+                action.accept(reverse[1][i]);
+            }
+        }
+
+        private int[][] followers() {
+            int[][] reverse = followers;
+            if (reverse == null) {
+                int users = offsets.length - 1;
+                int[] reverseOffsets = new int[users + 1];
+                for (int target : targets) {
+                    reverseOffsets[target + 1]++;
+                }
+                for (int i = 1; i <= users; i++) {
+                    reverseOffsets[i] += reverseOffsets[i - 1];
+                }
+                int[] sources = new int[targets.length];
+                int[] fill = Arrays.copyOf(reverseOffsets, users);
+                for (int user = 0; user < users; user++) {
+                    for (int i = offsets[user]; i < offsets[user + 1]; i++) {
+                        sources[fill[targets[i]]++] = user;
+                    }
+                }
+                reverse = new int[][]{reverseOffsets, sources};
+                followers = reverse;
+            }
+            return reverse;
+        }
+    }
+}
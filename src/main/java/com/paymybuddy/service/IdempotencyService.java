@@ -0,0 +1,104 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.IdempotencyRecord;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Rejeux d'un POST avec le même Idempotency-Key : la réponse d'origine est renvoyée
+// depuis un cache LRU borné, puis depuis la table idempotency_keys
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionService transactionService;
+    private final Map<String, Transaction> recent;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionService transactionService,
+                              @Value("${paymybuddy.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionService = transactionService;
+        // Ordre d'accès : l'entrée la moins récemment relue est évincée en premier
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Transaction> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public Transaction createOnce(String key, Transaction transaction) {
+        validateKey(key);
+        Integer senderId = transaction.getSender() != null ? transaction.getSender().getId() : null;
+
+        Optional<Transaction> replay = findReplay(key, senderId);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        Transaction created;
+        try {
+            created = transactionService.createTransaction(transaction, key);
+        } catch (DataIntegrityViolationException e) {
+            // Requête concurrente avec la même clé : elle a été validée avant nous, on renvoie son résultat
+            return findReplay(key, senderId).orElseThrow(() -> e);
+        }
+        remember(key, created);
+        return created;
+    }
+
+    Optional<Transaction> findReplay(String key, Integer senderId) {
+        Transaction cached;
+        synchronized (recent) {
+            cached = recent.get(key);
+        }
+        if (cached != null) {
+            checkOwner(cached.getSender().getId(), senderId);
+            return Optional.of(cached);
+        }
+
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+        if (record.isEmpty()) {
+            return Optional.empty();
+        }
+        checkOwner(record.get().getSenderId(), senderId);
+        Transaction original = transactionService.getTransactionById(record.get().getTransactionId())
+                .orElseThrow(() -> new RuntimeException("Transaction introuvable."));
+        remember(key, original);
+        return Optional.of(original);
+    }
+
+    int cachedKeys() {
+        synchronized (recent) {
+            return recent.size();
+        }
+    }
+
+    private void remember(String key, Transaction transaction) {
+        synchronized (recent) {
+            recent.put(key, transaction);
+        }
+    }
+
+    // Une clé n'est valable que pour l'expéditeur qui l'a utilisée en premier
+    private static void checkOwner(Integer ownerId, Integer senderId) {
+        if (!ownerId.equals(senderId)) {
+            throw new IllegalArgumentException("Clé d'idempotence déjà utilisée.");
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Clé d'idempotence invalide.");
+        }
+    }
+}
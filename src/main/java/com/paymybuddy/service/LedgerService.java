@@ -0,0 +1,180 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.AccountBalance;
+import com.paymybuddy.model.Account;
+import com.paymybuddy.model.AccountStripe;
+import com.paymybuddy.model.AccountStripeId;
+import com.paymybuddy.model.LedgerEntry;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.UserTransactionSummary;
+import com.paymybuddy.model.UserTransactionSummaryId;
+import com.paymybuddy.repository.AccountRepository;
+import com.paymybuddy.repository.AccountStripeRepository;
+import com.paymybuddy.repository.LedgerEntryRepository;
+import com.paymybuddy.repository.UserTransactionSummaryRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Service
+public class LedgerService {
+
+    public static final int MAX_STRIPES = 64;
+
+    private static final Comparator<AccountStripeId> STRIPE_ORDER =
+            Comparator.comparing(AccountStripeId::getUserId).thenComparing(AccountStripeId::getStripe);
+    private static final Comparator<UserTransactionSummaryId> SUMMARY_ORDER =
+            Comparator.comparing(UserTransactionSummaryId::getUserId).thenComparing(UserTransactionSummaryId::getSlot);
+
+    private final AccountRepository accountRepository;
+    private final AccountStripeRepository accountStripeRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final UserTransactionSummaryRepository summaryRepository;
+
+    @Autowired
+    public LedgerService(AccountRepository accountRepository,
+                         AccountStripeRepository accountStripeRepository,
+                         LedgerEntryRepository ledgerEntryRepository,
+                         UserTransactionSummaryRepository summaryRepository) {
+        this.accountRepository = accountRepository;
+        this.accountStripeRepository = accountStripeRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.summaryRepository = summaryRepository;
+    }
+
+    @Transactional
+    public Account openAccount(Integer userId) {
+        return accountRepository.save(new Account(userId, BigDecimal.ZERO));
+    }
+
+    // Met à jour les deux soldes et écrit le débit et le crédit, dans la transaction DB de l'appelant
+    @Transactional
+    public void recordTransfer(Transaction transaction) {
+        recordTransfers(List.of(transaction));
+    }
+
+    // Version par lot : les variations sont agrégées par compte, chaque ligne n'est verrouillée qu'une fois
+    @Transactional
+    public void recordTransfers(List<Transaction> transactions) {
+        Map<Integer, Integer> stripeCounts = new HashMap<>();
+        SortedMap<Integer, BigDecimal> accountDeltas = new TreeMap<>();
+        SortedMap<AccountStripeId, BigDecimal> stripeDeltas = new TreeMap<>(STRIPE_ORDER);
+        SortedMap<UserTransactionSummaryId, UserTransactionSummary> summaryDeltas = new TreeMap<>(SUMMARY_ORDER);
+        List<LedgerEntry> entries = new ArrayList<>(transactions.size() * 2);
+
+        for (Transaction transaction : transactions) {
+            Integer senderId = transaction.getSender().getId();
+            Integer receiverId = transaction.getReceiver().getId();
+            BigDecimal amount = transaction.getAmount();
+
+            accountDeltas.merge(senderId, amount.negate(), BigDecimal::add);
+            summaryDelta(summaryDeltas, senderId, 0).recordSent(amount);
+            int receiverStripes = stripeCounts.computeIfAbsent(receiverId,
+                    id -> accountRepository.findStripeCountByUserId(id).orElse(0));
+            if (receiverStripes > 0) {
+                // Destinataire à solde réparti : seule une sous-ligne est verrouillée côté crédit
+                int stripe = stripeFor(transaction, receiverStripes);
+                stripeDeltas.merge(new AccountStripeId(receiverId, stripe), amount, BigDecimal::add);
+                summaryDelta(summaryDeltas, receiverId, stripe + 1).recordReceived(amount);
+            } else {
+                accountDeltas.merge(receiverId, amount, BigDecimal::add);
+                summaryDelta(summaryDeltas, receiverId, 0).recordReceived(amount);
+            }
+
+            entries.add(new LedgerEntry(transaction.getId(), senderId, amount.negate()));
+            entries.add(new LedgerEntry(transaction.getId(), receiverId, amount));
+        }
+
+        // Verrous toujours pris dans le même ordre : lignes principales par id croissant, puis
+        // sous-lignes. Deux virements croisés A -> B et B -> A ne peuvent pas s'interbloquer.
+        accountDeltas.forEach((userId, delta) -> {
+            Account account = lockAccount(userId);
+            account.setBalance(account.getBalance().add(delta));
+        });
+        stripeDeltas.forEach((stripeId, delta) -> {
+            AccountStripe stripe = lockStripe(stripeId.getUserId(), stripeId.getStripe());
+            stripe.setBalance(stripe.getBalance().add(delta));
+        });
+
+        // Chaque ligne de synthèse est couverte par un verrou déjà pris ci-dessus (compte ou sous-ligne)
+        List<UserTransactionSummary> createdSummaries = new ArrayList<>();
+        summaryDeltas.forEach((summaryId, delta) -> summaryRepository
+                .findForUpdate(summaryId.getUserId(), summaryId.getSlot())
+                .ifPresentOrElse(summary -> summary.add(delta), () -> createdSummaries.add(delta)));
+        if (!createdSummaries.isEmpty()) {
+            summaryRepository.saveAll(createdSummaries);
+        }
+
+        ledgerEntryRepository.saveAll(entries);
+    }
+
+    // Active (ou étend) le solde réparti pour un compte très crédité
+    @Transactional
+    public AccountBalance enableStripedBalance(Integer userId, int stripes) {
+        if (stripes < 1 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Le nombre de sous-lignes doit être compris entre 1 et " + MAX_STRIPES + ".");
+        }
+        Account account = lockAccount(userId);
+        if (stripes > account.getStripeCount()) {
+            List<AccountStripe> created = new ArrayList<>();
+            for (int stripe = account.getStripeCount(); stripe < stripes; stripe++) {
+                created.add(new AccountStripe(userId, stripe, BigDecimal.ZERO));
+            }
+            accountStripeRepository.saveAll(created);
+            account.setStripeCount(stripes);
+        }
+        return new AccountBalance(userId, balanceOf(account), account.getStripeCount());
+    }
+
+    public BigDecimal getBalance(Integer userId) {
+        return accountRepository.findById(userId)
+                .map(this::balanceOf)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public AccountBalance getAccountBalance(Integer userId) {
+        return accountRepository.findById(userId)
+                .map(account -> new AccountBalance(userId, balanceOf(account), account.getStripeCount()))
+                .orElse(new AccountBalance(userId, BigDecimal.ZERO, 0));
+    }
+
+    // Solde = ligne principale + somme des sous-lignes éventuelles
+    private BigDecimal balanceOf(Account account) {
+        if (!account.isStriped()) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(accountStripeRepository.sumBalanceByUserId(account.getUserId()));
+    }
+
+    // Des ids consécutifs tombent sur des sous-lignes différentes
+    static int stripeFor(Transaction transaction, int stripes) {
+        return Math.floorMod(transaction.getId(), stripes);
+    }
+
+    private static UserTransactionSummary summaryDelta(Map<UserTransactionSummaryId, UserTransactionSummary> deltas,
+                                                       Integer userId, int slot) {
+        return deltas.computeIfAbsent(new UserTransactionSummaryId(userId, slot),
+                id -> new UserTransactionSummary(userId, slot));
+    }
+
+    private Account lockAccount(Integer userId) {
+        // Pas de création à la volée : deux premiers paiements concurrents inséreraient le même compte.
+        // La reprise de sql/pay_my_buddy.sql ouvre les comptes existants, createUser ouvre les nouveaux.
+        return accountRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Compte introuvable pour l'utilisateur " + userId + "."));
+    }
+
+    private AccountStripe lockStripe(Integer userId, int stripe) {
+        return accountStripeRepository.findForUpdate(userId, stripe)
+                .orElseThrow(() -> new IllegalStateException("Sous-ligne de solde introuvable."));
+    }
+}
@@ -0,0 +1,196 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Mode « group commit » : les paiements soumis sont regroupés par un unique écrivain
+// et validés par lots, une seule transaction DB (et un seul fsync) par lot
+@Service
+public class PaymentPipeline {
+
+    private final TransactionService transactionService;
+    private final PaymentRejections paymentRejections;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final long resultTimeoutMs;
+    private final BlockingQueue<Pending> queue;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    private record Pending(Transaction transaction, CompletableFuture<Transaction> result) {}
+
+    @Autowired
+    public PaymentPipeline(TransactionService transactionService,
+                           PaymentRejections paymentRejections,
+                           @Value("${paymybuddy.payments.pipeline.enabled:false}") boolean enabled,
+                           @Value("${paymybuddy.payments.pipeline.batch-size:100}") int batchSize,
+                           @Value("${paymybuddy.payments.pipeline.max-wait-ms:5}") long maxWaitMs,
+                           @Value("${paymybuddy.payments.pipeline.capacity:10000}") int capacity,
+                           @Value("${paymybuddy.payments.pipeline.result-timeout-ms:5000}") long resultTimeoutMs) {
+        this.transactionService = transactionService;
+        this.paymentRejections = paymentRejections;
+        this.enabled = enabled;
+        this.batchSize = Math.min(batchSize, TransactionService.MAX_BATCH_SIZE);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.resultTimeoutMs = resultTimeoutMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "payment-pipeline");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // Soumis pendant l'arrêt, après le dernier passage de l'écrivain : refusés plutôt qu'oubliés
+        failPending();
+    }
+
+    // Les règles simples restent vérifiées tout de suite, dans le thread de l'appelant
+    public CompletableFuture<Transaction> submit(Transaction transaction) {
+        return enqueue(transaction).result();
+    }
+
+    // Pour les appelants synchrones : attend la validation du lot et relance l'erreur d'origine.
+    // L'attente est bornée (écrivain arrêté ou bloqué) : au-delà, 503 via RejectedExecutionException
+    public Transaction submitAndWait(Transaction transaction) {
+        Pending pending = enqueue(transaction);
+        try {
+            return pending.result().get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Encore dans la file : retiré, le paiement ne sera pas passé. Sinon il est en cours de validation,
+            // et seul un rejeu avec la même Idempotency-Key évite un doublon
+            String outcome = queue.remove(pending) ? "non effectué" : "en cours de validation";
+            throw new RejectedExecutionException("Paiement " + outcome + " : délai dépassé, réessayez plus tard.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Attente du paiement interrompue.", e);
+        }
+    }
+
+    private Pending enqueue(Transaction transaction) {
+        TransactionService.validateAmount(transaction.getAmount(), paymentRejections);
+        TransactionService.validateParties(transaction.getSender(), transaction.getReceiver(), paymentRejections);
+        if (!running) {
+            throw new RejectedExecutionException("Le traitement des paiements est arrêté, réessayez plus tard.");
+        }
+        Pending pending = new Pending(transaction, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("Trop de paiements en attente, réessayez plus tard.");
+        }
+        // L'écrivain a pu s'arrêter entre le test et l'ajout, après avoir vidé la file : si le paiement
+        // y est encore, on le reprend ; sinon l'écrivain (ou failPending) s'est chargé de le terminer
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("Le traitement des paiements est arrêté, réessayez plus tard.");
+        }
+        return pending;
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    private void drain() {
+        try {
+            drainWhileRunning();
+        } finally {
+            // Écrivain arrêté, ou mort sur une erreur inattendue : plus aucune soumission n'est acceptée
+            running = false;
+            failPending();
+        }
+    }
+
+    private void failPending() {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(
+                    new RejectedExecutionException("Le traitement des paiements est arrêté, réessayez plus tard."));
+        }
+    }
+
+    private void drainWhileRunning() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Le lot part dès qu'il est plein ou que le premier paiement a attendu maxWait
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        try {
+            List<Transaction> saved = transactionService.createTransactions(
+                    batch.stream().map(Pending::transaction).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            // Un paiement invalide fait échouer tout le lot : on rejoue un par un
+            // pour que seul le fautif reçoive l'erreur
+            for (Pending pending : batch) {
+                pending.transaction().setId(null);
+                try {
+                    pending.result().complete(transactionService.createTransaction(pending.transaction()));
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.paymybuddy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Compteur paymybuddy.payments.rejected{reason=...}, exposé sur /actuator/prometheus.
+// Les compteurs sont créés une fois, au démarrage : un refus ne coûte qu'un incrément.
+@Component
+public class PaymentRejections {
+
+    public static final String METRIC = "paymybuddy.payments.rejected";
+
+    public enum Reason {
+        NON_POSITIVE_AMOUNT("non_positive_amount"),
+        SELF_SEND("self_send"),
+        NOT_A_FRIEND("not_a_friend");
+
+        private final String tag;
+
+        Reason(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final Map<Reason, Counter> counters = new EnumMap<>(Reason.class);
+
+    @Autowired
+    public PaymentRejections(MeterRegistry meterRegistry) {
+        for (Reason reason : Reason.values()) {
+            counters.put(reason, Counter.builder(METRIC)
+                    .description("Paiements refusés, par motif")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void record(Reason reason) {
+        counters.get(reason).increment();
+    }
+}
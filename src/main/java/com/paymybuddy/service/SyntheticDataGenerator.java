@@ -0,0 +1,302 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.util.IntHashSet;
+import com.paymybuddy.util.ZipfSampler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Jeu de données synthétique à l'échelle de la production, pour les benchmarks et tests de charge :
+// - users : ids pris à la suite des compteurs de id_sequences (ajout possible à une base existante) ;
+// - user_connections : degré sortant en loi de puissance, amis tirés selon une loi de Zipf
+//   (quelques utilisateurs très suivis) ;
+// - transactions : expéditeurs et destinataires selon deux lois de Zipf indépendantes, dates
+//   croissantes avec l'id sur les derniers mois ;
+// - accounts, ledger_entries, user_transaction_summary et id_sequences tenus cohérents.
+// Écriture par INSERT multi-lignes validés bloc par bloc (auto-commit) : à lancer sur une base
+// dédiée, application arrêtée. Même graine, même jeu de données.
+@Service
+public class SyntheticDataGenerator {
+
+    // Limite MySQL du nombre de paramètres d'un ordre préparé (6 colonnes au plus par ligne)
+    public static final int MAX_BATCH_ROWS = 10_000;
+
+    private static final int LEDGER_CHUNK = 100_000;
+    private static final long MIN_AMOUNT_CENTS = 100;
+    private static final long MAX_AMOUNT_CENTS = 50_000;
+    private static final double MEAN_AMOUNT_CENTS = 2_000;
+    private static final String[] DESCRIPTIONS = {"Repas", "Loyer", "Cinéma", "Courses", "Cadeau", "Voyage", "Remboursement"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, BCryptPasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    // Volumes et lois du jeu de données ; tous les utilisateurs ont le même mot de passe
+    public record Plan(int users, int averageFriends, int maxFriends, double degreeExponent,
+                       long transactions, double zipfExponent, int months, int batchRows, long seed,
+                       String password) {
+        public Plan {
+            if (users < 2) {
+                throw new IllegalArgumentException("Il faut au moins deux utilisateurs.");
+            }
+            if (averageFriends < 0 || maxFriends < averageFriends) {
+                throw new IllegalArgumentException("Le nombre moyen d'amis doit être compris entre 0 et le maximum.");
+            }
+            if (degreeExponent <= 2) {
+                throw new IllegalArgumentException("L'exposant de la loi de puissance doit être supérieur à 2.");
+            }
+            if (transactions < 0 || zipfExponent < 0) {
+                throw new IllegalArgumentException("Le nombre de transactions et l'exposant de Zipf doivent être positifs.");
+            }
+            if (months < 1) {
+                throw new IllegalArgumentException("Les transactions doivent couvrir au moins un mois.");
+            }
+            if (batchRows < 1 || batchRows > MAX_BATCH_ROWS) {
+                throw new IllegalArgumentException("Un INSERT multi-lignes compte entre 1 et " + MAX_BATCH_ROWS + " lignes.");
+            }
+        }
+    }
+
+    public record Report(int users, long connections, long transactions, long ledgerEntries, Duration elapsed) {}
+
+    public Report generate(Plan plan) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(plan.seed());
+        int firstUserId = nextId("users");
+        int firstTransactionId = nextId("transactions");
+        int firstLedgerId = nextId("ledger_entries");
+        checkIdRange(firstUserId, plan.users());
+        checkIdRange(firstTransactionId, plan.transactions());
+        checkIdRange(firstLedgerId, 2 * plan.transactions());
+
+        insertUsers(plan, firstUserId);
+
+        // Un même échantillonneur, trois classements de popularité indépendants
+        ZipfSampler zipf = new ZipfSampler(plan.users(), plan.zipfExponent());
+        long connections = insertConnections(plan, firstUserId, zipf, permutation(plan.users(), random), random);
+
+        long[] sentCents = new long[plan.users()];
+        long[] receivedCents = new long[plan.users()];
+        int[] sentCount = new int[plan.users()];
+        int[] receivedCount = new int[plan.users()];
+        insertTransactions(plan, firstUserId, firstTransactionId, zipf, permutation(plan.users(), random),
+                permutation(plan.users(), random), random, sentCents, receivedCents, sentCount, receivedCount);
+        long ledgerEntries = insertLedgerEntries(firstTransactionId, plan.transactions(), firstLedgerId);
+        insertAccountsAndSummaries(plan, firstUserId, sentCents, receivedCents, sentCount, receivedCount);
+
+        advanceSequence("users", firstUserId + plan.users() - 1);
+        advanceSequence("transactions", firstTransactionId + plan.transactions() - 1);
+        advanceSequence("ledger_entries", firstLedgerId + ledgerEntries - 1);
+        return new Report(plan.users(), connections, plan.transactions(), ledgerEntries,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void insertUsers(Plan plan, int firstUserId) {
+        // Un seul hachage BCrypt pour tout le jeu de données
+        String hash = passwordEncoder.encode(plan.password());
+        MultiRowInsert users = new MultiRowInsert("users", plan.batchRows(), "id", "email", "username", "password");
+        for (int i = 0; i < plan.users(); i++) {
+            int id = firstUserId + i;
+            users.add(id, "user" + id + "@datagen.paymybuddy", "user" + id, hash);
+        }
+        users.flush();
+    }
+
+    // Degré sortant tiré d'une loi de Pareto de minimum xmin, dont la moyenne vaut averageFriends
+    // (avant troncature à maxFriends) ; amis distincts, tirés selon leur rang de popularité
+    private long insertConnections(Plan plan, int firstUserId, ZipfSampler zipf, int[] byPopularity,
+                                   SplittableRandom random) {
+        if (plan.averageFriends() == 0) {
+            return 0;
+        }
+        double alpha = plan.degreeExponent();
+        double xmin = plan.averageFriends() * (alpha - 2) / (alpha - 1);
+        int maxDegree = Math.min(plan.maxFriends(), plan.users() - 1);
+        MultiRowInsert connections = new MultiRowInsert("user_connections", plan.batchRows(), "user_id", "connection_id");
+        for (int i = 0; i < plan.users(); i++) {
+            double pareto = xmin * Math.pow(1 - random.nextDouble(), -1 / (alpha - 1));
+            int degree = (int) Math.max(1, Math.min(maxDegree, Math.round(pareto)));
+            int userId = firstUserId + i;
+            IntHashSet friends = new IntHashSet(degree);
+            // Tirages bornés : un très gros degré peut épuiser les candidats probables
+            for (int attempt = 0; friends.size() < degree && attempt < degree * 20; attempt++) {
+                int friendId = firstUserId + byPopularity[zipf.sample(random)];
+                if (friendId != userId && friends.add(friendId)) {
+                    connections.add(userId, friendId);
+                }
+            }
+        }
+        connections.flush();
+        return connections.written();
+    }
+
+    private void insertTransactions(Plan plan, int firstUserId, int firstTransactionId, ZipfSampler zipf,
+                                    int[] senderRanks, int[] receiverRanks, SplittableRandom random,
+                                    long[] sentCents, long[] receivedCents, int[] sentCount, int[] receivedCount) {
+        Instant end = Instant.now();
+        Instant begin = end.atOffset(ZoneOffset.UTC).minusMonths(plan.months()).toInstant();
+        long spanNanos = Duration.between(begin, end).toNanos();
+        MultiRowInsert transactions = new MultiRowInsert("transactions", plan.batchRows(),
+                "id", "sender_id", "receiver_id", "amount", "description", "created_at");
+        for (long n = 0; n < plan.transactions(); n++) {
+            int sender = senderRanks[zipf.sample(random)];
+            int receiver = receiverRanks[zipf.sample(random)];
+            while (receiver == sender) {
+                receiver = receiverRanks[zipf.sample(random)];
+            }
+            // Montants en loi exponentielle (beaucoup de petits paiements), bornés
+            long cents = Math.min(MAX_AMOUNT_CENTS,
+                    MIN_AMOUNT_CENTS + (long) (-Math.log(1 - random.nextDouble()) * MEAN_AMOUNT_CENTS));
+            sentCents[sender] += cents;
+            sentCount[sender]++;
+            receivedCents[receiver] += cents;
+            receivedCount[receiver]++;
+            // Dates croissantes avec l'id, comme en production (l'archivage et la pagination en dépendent)
+            Instant createdAt = begin.plusNanos((long) (spanNanos * ((double) n / plan.transactions())));
+            transactions.add(firstTransactionId + (int) n, firstUserId + sender, firstUserId + receiver,
+                    BigDecimal.valueOf(cents, 2), DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                    Timestamp.from(createdAt));
+        }
+        transactions.flush();
+    }
+
+    // Débit et crédit de chaque transaction, recopiés par la base par tranches d'ids
+    private long insertLedgerEntries(int firstTransactionId, long transactions, int firstLedgerId) {
+        long written = 0;
+        for (long from = 0; from < transactions; from += LEDGER_CHUNK) {
+            long lastId = firstTransactionId + Math.min(transactions, from + LEDGER_CHUNK) - 1;
+            long firstId = firstTransactionId + from;
+            String ledgerId = firstLedgerId + " + 2 * (id - " + firstTransactionId + ")";
+            written += jdbcTemplate.update("INSERT INTO ledger_entries (id, transaction_id, user_id, amount) "
+                    + "SELECT " + ledgerId + ", id, sender_id, -amount FROM transactions "
+                    + "WHERE id BETWEEN " + firstId + " AND " + lastId + " "
+                    + "UNION ALL SELECT " + ledgerId + " + 1, id, receiver_id, amount FROM transactions "
+                    + "WHERE id BETWEEN " + firstId + " AND " + lastId);
+        }
+        return written;
+    }
+
+    private void insertAccountsAndSummaries(Plan plan, int firstUserId, long[] sentCents, long[] receivedCents,
+                                            int[] sentCount, int[] receivedCount) {
+        MultiRowInsert accounts = new MultiRowInsert("accounts", plan.batchRows(), "user_id", "balance", "stripe_count");
+        MultiRowInsert summaries = new MultiRowInsert("user_transaction_summary", plan.batchRows(),
+                "user_id", "slot", "total_sent", "sent_count", "total_received", "received_count");
+        for (int i = 0; i < plan.users(); i++) {
+            int userId = firstUserId + i;
+            accounts.add(userId, BigDecimal.valueOf(receivedCents[i] - sentCents[i], 2), 0);
+            if (sentCount[i] > 0 || receivedCount[i] > 0) {
+                summaries.add(userId, 0, BigDecimal.valueOf(sentCents[i], 2), sentCount[i],
+                        BigDecimal.valueOf(receivedCents[i], 2), receivedCount[i]);
+            }
+        }
+        accounts.flush();
+        summaries.flush();
+    }
+
+    // Premier id libre : au-delà du compteur Hibernate (ids déjà réservés) et des lignes existantes
+    private int nextId(String table) {
+        List<Long> next = jdbcTemplate.queryForList(
+                "SELECT next_val FROM id_sequences WHERE sequence_name = ?", Long.class, table);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long first = Math.max(next.isEmpty() ? 1 : next.get(0), maxId + 1);
+        checkIdRange(first, 0);
+        return (int) first;
+    }
+
+    // Même règle que sql/pay_my_buddy.sql : compteur placé un bloc au-delà du plus grand id
+    private void advanceSequence(String sequence, long lastId) {
+        long nextVal = lastId + 50;
+        int updated = jdbcTemplate.update("UPDATE id_sequences SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                nextVal, sequence, nextVal);
+        if (updated == 0 && jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_sequences WHERE sequence_name = ?", Integer.class, sequence) == 0) {
+            jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)", sequence, nextVal);
+        }
+    }
+
+    private static void checkIdRange(long firstId, long rows) {
+        if (firstId + rows - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop de lignes : les ids dépasseraient la capacité d'une colonne INT.");
+        }
+    }
+
+    private static int[] permutation(int n, SplittableRandom random) {
+        int[] values = new int[n];
+        Arrays.setAll(values, i -> i);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+
+    // INSERT INTO t (c1, c2) VALUES (?, ?), (?, ?), ... : batchRows lignes par aller-retour
+    private final class MultiRowInsert {
+        private final String prefix;
+        private final String row;
+        private final int batchRows;
+        private final List<Object> parameters;
+        private String fullBatchSql;
+        private int rows;
+        private long written;
+
+        MultiRowInsert(String table, int batchRows, String... columns) {
+            this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+            this.row = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+            this.batchRows = batchRows;
+            this.parameters = new ArrayList<>(batchRows * columns.length);
+        }
+
+        void add(Object... values) {
+            parameters.addAll(Arrays.asList(values));
+            if (++rows == batchRows) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows == 0) {
+                return;
+            }
+            if (rows == batchRows && fullBatchSql == null) {
+                fullBatchSql = sql(rows);
+            }
+            // Même texte SQL pour tous les blocs pleins : l'ordre préparé est réutilisable
+            jdbcTemplate.update(rows == batchRows ? fullBatchSql : sql(rows), parameters.toArray());
+            written += rows;
+            parameters.clear();
+            rows = 0;
+        }
+
+        long written() {
+            return written;
+        }
+
+        private String sql(int count) {
+            StringBuilder sql = new StringBuilder(prefix.length() + count * (row.length() + 2)).append(prefix);
+            for (int i = 0; i < count; i++) {
+                sql.append(i == 0 ? "" : ", ").append(row);
+            }
+            return sql.toString();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.paymybuddy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Déplace les mois les plus anciens de transactions vers transactions_archive (table compressée),
+// pour que le jeu de données chaud reste dans le buffer pool. Les lectures passent ensuite par
+// TransactionService, qui complète l'historique avec l'archive.
+// - base partitionnée par mois (sql/transactions_partitioning.sql) : copie de la partition puis
+//   DROP PARTITION, sans DELETE ligne à ligne ; les partitions des mois à venir sont créées d'avance ;
+// - base non partitionnée (H2 des tests, MySQL avant migration) : copie puis DELETE par plage de dates.
+// Dans les deux cas, les clés d'idempotence des paiements archivés sont supprimées avec eux.
+@Service
+@ConditionalOnProperty(name = "paymybuddy.archive.enabled", havingValue = "true")
+public class TransactionArchiver {
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final String COPY_COLUMNS = "id, sender_id, receiver_id, amount, description, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final boolean partitioned;
+    private final int monthsAhead;
+
+    @Autowired
+    public TransactionArchiver(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${paymybuddy.archive.retention-months:12}") int retentionMonths,
+                               @Value("${paymybuddy.archive.partitioned:false}") boolean partitioned,
+                               @Value("${paymybuddy.archive.months-ahead:3}") int monthsAhead) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("La durée de conservation doit être d'au moins un mois.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+        this.partitioned = partitioned;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(cron = "${paymybuddy.archive.cron:0 30 3 * * *}", zone = "UTC")
+    public void archive() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        archiveBefore(current.minusMonths(retentionMonths));
+        if (partitioned) {
+            ensurePartitionsUntil(current.plusMonths(monthsAhead));
+        }
+    }
+
+    // Archive toutes les transactions antérieures au premier jour de firstHotMonth ; renvoie le nombre
+    // de lignes copiées. Relançable : une copie interrompue n'est pas dupliquée au passage suivant.
+    public int archiveBefore(YearMonth firstHotMonth) {
+        LocalDate cutoff = firstHotMonth.atDay(1);
+        if (!partitioned) {
+            // Même conversion que pour les Instant écrits par Hibernate (dates stockées en UTC)
+            Timestamp before = Timestamp.from(cutoff.atStartOfDay().toInstant(ZoneOffset.UTC));
+            Integer copied = transactionTemplate.execute(status -> {
+                int rows = jdbcTemplate.update("INSERT INTO transactions_archive (" + COPY_COLUMNS + ") "
+                        + "SELECT " + COPY_COLUMNS + " FROM transactions t WHERE t.created_at < ? "
+                        + "AND NOT EXISTS (SELECT 1 FROM transactions_archive a WHERE a.id = t.id)",
+                        before);
+                // Clés d'idempotence des paiements archivés : inutiles après la période de rejeu,
+                // et bloquantes pour le DELETE (fk_idempotency_transaction)
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE transaction_id IN "
+                        + "(SELECT id FROM transactions WHERE created_at < ?)", before);
+                jdbcTemplate.update("DELETE FROM transactions WHERE created_at < ?", before);
+                return rows;
+            });
+            return copied != null ? copied : 0;
+        }
+
+        int copied = 0;
+        for (Partition partition : partitions()) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            // DROP PARTITION est un ordre DDL (commit implicite) : la copie est validée avant
+            Integer rows = transactionTemplate.execute(status -> {
+                int inserted = jdbcTemplate.update("INSERT INTO transactions_archive (" + COPY_COLUMNS + ") "
+                        + "SELECT " + COPY_COLUMNS + " FROM transactions PARTITION (" + partition.name() + ") t "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM transactions_archive a WHERE a.id = t.id)");
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE transaction_id IN "
+                        + "(SELECT id FROM transactions PARTITION (" + partition.name() + "))");
+                return inserted;
+            });
+            jdbcTemplate.execute("ALTER TABLE transactions DROP PARTITION " + partition.name());
+            copied += rows != null ? rows : 0;
+        }
+        return copied;
+    }
+
+    // Découpe p_future pour qu'il existe une partition par mois jusqu'à lastMonth inclus
+    public void ensurePartitionsUntil(YearMonth lastMonth) {
+        LocalDate lastBound = null;
+        for (Partition partition : partitions()) {
+            if (partition.upperBound() != null && (lastBound == null || partition.upperBound().isAfter(lastBound))) {
+                lastBound = partition.upperBound();
+            }
+        }
+        if (lastBound == null) {
+            return;
+        }
+        List<String> created = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(lastBound); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            created.add("PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('"
+                    + month.plusMonths(1).atDay(1) + "')");
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+        created.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE transactions REORGANIZE PARTITION " + FUTURE_PARTITION
+                + " INTO (" + String.join(", ", created) + ")");
+    }
+
+    record Partition(String name, LocalDate upperBound) {}
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(checkedName(rs.getString(1)), upperBound(rs.getString(2))));
+    }
+
+    // RANGE COLUMNS : la borne est renvoyée entre quotes ('2025-02-01 00:00:00'), ou MAXVALUE
+    static LocalDate upperBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").trim().substring(0, 10));
+    }
+
+    private static String checkedName(String name) {
+        if (!SAFE_NAME.matcher(name).matches()) {
+            throw new IllegalStateException("Nom de partition inattendu : " + name);
+        }
+        return name;
+    }
+}
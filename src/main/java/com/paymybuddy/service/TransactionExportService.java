@@ -0,0 +1,157 @@
+package com.paymybuddy.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.paymybuddy.dto.TransactionView;
+import com.paymybuddy.repository.ArchivedTransactionRepository;
+import com.paymybuddy.repository.TransactionRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Export de tout l'historique ligne à ligne : la mémoire reste constante quelle que soit la taille de la table
+@Service
+public class TransactionExportService {
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() { return mediaType; }
+        public String extension() { return extension; }
+
+        public static Optional<Format> parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    ArchivedTransactionRepository archivedTransactionRepository,
+                                    ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Le flux JPA n'est valide que dans la transaction : il est consommé entièrement ici.
+    // L'archive (ids les plus anciens) puis la table chaude, l'une après l'autre : un seul curseur ouvert à la fois.
+    @Transactional
+    public void export(Format format, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.NDJSON ? ndjsonWriter(out) : csvWriter(out);
+        try (Stream<TransactionView> rows = archivedTransactionRepository.streamAllViews()) {
+            writeAll(rows.iterator(), writer);
+        }
+        try (Stream<TransactionView> rows = transactionRepository.streamAllViews()) {
+            writeAll(rows.iterator(), writer);
+        }
+        writer.finish();
+    }
+
+    private interface RowWriter {
+        void write(TransactionView row) throws IOException;
+        void finish() throws IOException;
+    }
+
+    private static void writeAll(Iterator<TransactionView> rows, RowWriter writer) throws IOException {
+        while (rows.hasNext()) {
+            writer.write(rows.next());
+        }
+    }
+
+    private RowWriter ndjsonWriter(OutputStream out) throws IOException {
+        // Pas de flush par ligne, et la réponse reste ouverte : c'est le conteneur qui la ferme
+        SequenceWriter sequence = objectMapper.writerFor(TransactionView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+        return new RowWriter() {
+            private boolean empty = true;
+
+            @Override
+            public void write(TransactionView row) throws IOException {
+                sequence.write(row);
+                empty = false;
+            }
+
+            @Override
+            public void finish() throws IOException {
+                sequence.close();
+                if (!empty) {
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        };
+    }
+
+    private static RowWriter csvWriter(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,sender,receiver,amount,description,created_at\n");
+        return new RowWriter() {
+            @Override
+            public void write(TransactionView row) throws IOException {
+                writer.write(String.valueOf(row.id()));
+                writer.write(',');
+                writer.write(csv(row.senderUsername()));
+                writer.write(',');
+                writer.write(csv(row.receiverUsername()));
+                writer.write(',');
+                writer.write(row.amount() != null ? row.amount().toPlainString() : "");
+                writer.write(',');
+                writer.write(csv(row.description()));
+                writer.write(',');
+                writer.write(row.createdAt() != null ? row.createdAt().toString() : "");
+                writer.write('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    // RFC 4180 : guillemets doublés, champ entre guillemets s'il contient un séparateur
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,41 +1,72 @@
 package com.paymybuddy.service;
 
+import com.paymybuddy.dto.AmountTotal;
+import com.paymybuddy.dto.CursorPage;
+import com.paymybuddy.dto.TransactionStatement;
+import com.paymybuddy.dto.TransactionView;
+import com.paymybuddy.model.ArchivedTransaction;
+import com.paymybuddy.model.IdempotencyRecord;
 import com.paymybuddy.model.Transaction;
 import com.paymybuddy.model.User;
+import com.paymybuddy.repository.ArchivedTransactionRepository;
+import com.paymybuddy.repository.IdempotencyRecordRepository;
 import com.paymybuddy.repository.TransactionRepository;
 import com.paymybuddy.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "paymybuddy.service", histogram = true)
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int DEFAULT_STATEMENT_DAYS = 30;
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final LedgerService ledgerService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final PaymentRejections paymentRejections;
 
     @Autowired
     public TransactionService(TransactionRepository transactionRepository,
-                              UserRepository userRepository) {
+                              UserRepository userRepository,
+                              LedgerService ledgerService,
+                              IdempotencyRecordRepository idempotencyRecordRepository,
+                              ArchivedTransactionRepository archivedTransactionRepository,
+                              PaymentRejections paymentRejections) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
+        this.ledgerService = ledgerService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.paymentRejections = paymentRejections;
     }
 
     @Transactional
     public Transaction createTransaction(Transaction transaction) {
 
         // Validation du montant
-        BigDecimal amount = transaction.getAmount();
-        if (amount == null) {
-            throw new IllegalArgumentException("Le montant ne peut pas être nul.");
-        }
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Le montant doit être strictement positif.");
-        }
+        validateAmount(transaction.getAmount(), paymentRejections);
 
         //  Récupération du vrai sender en base
         Integer senderId = transaction.getSender().getId();
@@ -48,20 +79,70 @@ public class TransactionService {
                 .orElseThrow(() -> new RuntimeException("Destinataire introuvable."));
 
         //  Interdiction d'envoyer à soi-même
-        if (sender.getId().equals(receiver.getId())) {
-            throw new IllegalArgumentException("Impossible d’envoyer de l’argent à soi-même.");
-        }
+        validateParties(sender, receiver, paymentRejections);
 
         transaction.setSender(sender);
         transaction.setReceiver(receiver);
+        transaction.setCreatedAt(Instant.now());
 
         //  Sauvegarde
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+
+        //  Soldes et grand livre mis à jour dans la même transaction DB
+        ledgerService.recordTransfer(saved);
+        return saved;
         // Grâce à @Transactional :
         // - si une exception est levée à un moment dans cette méthode,
         //   la transaction DB est annulée (rollback).
     }
 
+    // La clé est enregistrée dans la même transaction DB que le paiement : si une requête
+    // concurrente l'a déjà prise, le flush échoue et le paiement est annulé avec elle
+    @Transactional
+    public Transaction createTransaction(Transaction transaction, String idempotencyKey) {
+        Transaction saved = createTransaction(transaction);
+        idempotencyRecordRepository.saveAndFlush(
+                new IdempotencyRecord(idempotencyKey, saved.getSender().getId(), saved.getId()));
+        return saved;
+    }
+
+    // Création en lot : mêmes règles que createTransaction, mais une seule transaction DB,
+    // une seule requête pour charger les utilisateurs et des INSERT regroupés en lots JDBC
+    @Transactional
+    public List<Transaction> createTransactions(List<Transaction> transactions) {
+        if (transactions.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Un lot ne peut pas dépasser " + MAX_BATCH_SIZE + " transactions.");
+        }
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        transactions.forEach(transaction -> validateAmount(transaction.getAmount(), paymentRejections));
+
+        Set<Integer> userIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            userIds.add(transaction.getSender().getId());
+            userIds.add(transaction.getReceiver().getId());
+        }
+        Map<Integer, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Instant createdAt = Instant.now();
+        for (Transaction transaction : transactions) {
+            User sender = Optional.ofNullable(users.get(transaction.getSender().getId()))
+                    .orElseThrow(() -> new RuntimeException("Expéditeur introuvable."));
+            User receiver = Optional.ofNullable(users.get(transaction.getReceiver().getId()))
+                    .orElseThrow(() -> new RuntimeException("Destinataire introuvable."));
+            validateParties(sender, receiver, paymentRejections);
+            transaction.setSender(sender);
+            transaction.setReceiver(receiver);
+            transaction.setCreatedAt(createdAt);
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        ledgerService.recordTransfers(saved);
+        return saved;
+    }
+
     public List<Transaction> getTransactionsBySender(Integer senderId) {
         return transactionRepository.findBySenderId(senderId);
     }
@@ -70,11 +151,201 @@ public class TransactionService {
         return transactionRepository.findByReceiverId(receiverId);
     }
 
+    // Historique paginé : une page coûte le même prix quel que soit son rang.
+    // Les mois anciens sont archivés : chaque page fusionne les lignes chaudes et celles de l'archive.
+    public CursorPage<Transaction> getTransactionsBySender(Integer senderId, Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<Transaction> rows = withArchive(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(
+                        senderId, startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor, Transaction::getId,
+                (from, limit) -> toTransactions(
+                        archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(senderId, from, limit)));
+        return CursorPage.of(rows, pageSize, Transaction::getId);
+    }
+
+    // Même pagination, mais en projection légère pour l'affichage de l'historique
+    public CursorPage<TransactionView> getTransactionViewsBySender(Integer senderId, Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<TransactionView> rows = withArchive(transactionRepository.findViewsBySenderId(
+                        senderId, startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor, TransactionView::id,
+                (from, limit) -> archivedTransactionRepository.findViewsBySenderId(senderId, from, limit));
+        return CursorPage.of(rows, pageSize, TransactionView::id);
+    }
+
+    public CursorPage<Transaction> getTransactionsByReceiver(Integer receiverId, Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<Transaction> rows = withArchive(transactionRepository.findByReceiverIdAndIdLessThanOrderByIdDesc(
+                        receiverId, startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor, Transaction::getId,
+                (from, limit) -> toTransactions(
+                        archivedTransactionRepository.findByReceiverIdAndIdLessThanOrderByIdDesc(receiverId, from, limit)));
+        return CursorPage.of(rows, pageSize, Transaction::getId);
+    }
+
+    public CursorPage<Transaction> getTransactions(Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<Transaction> rows = withArchive(transactionRepository.findByIdLessThanOrderByIdDesc(
+                        startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor, Transaction::getId,
+                (from, limit) -> toTransactions(archivedTransactionRepository.findByIdLessThanOrderByIdDesc(from, limit)));
+        return CursorPage.of(rows, pageSize, Transaction::getId);
+    }
+
+    // Historique sur une période [from, to[ : from par défaut au début, to par défaut maintenant
+    public CursorPage<Transaction> getTransactionsBySender(Integer senderId, Instant from, Instant to,
+                                                           Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Instant end = periodEnd(to);
+        Instant start = periodStart(from, end);
+        List<Transaction> rows = withArchive(transactionRepository.findBySenderIdInPeriod(
+                        senderId, start, end, startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor,
+                Transaction::getId,
+                (after, limit) -> toTransactions(
+                        archivedTransactionRepository.findBySenderIdInPeriod(senderId, start, end, after, limit)));
+        return CursorPage.of(rows, pageSize, Transaction::getId);
+    }
+
+    public CursorPage<Transaction> getTransactionsByReceiver(Integer receiverId, Instant from, Instant to,
+                                                             Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Instant end = periodEnd(to);
+        Instant start = periodStart(from, end);
+        List<Transaction> rows = withArchive(transactionRepository.findByReceiverIdInPeriod(
+                        receiverId, start, end, startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor,
+                Transaction::getId,
+                (after, limit) -> toTransactions(
+                        archivedTransactionRepository.findByReceiverIdInPeriod(receiverId, start, end, after, limit)));
+        return CursorPage.of(rows, pageSize, Transaction::getId);
+    }
+
+    public CursorPage<TransactionView> getTransactionViewsBySender(Integer senderId, Instant from, Instant to,
+                                                                   Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Instant end = periodEnd(to);
+        Instant start = periodStart(from, end);
+        List<TransactionView> rows = withArchive(transactionRepository.findViewsBySenderIdInPeriod(
+                        senderId, start, end, startCursor(cursor), Limit.of(pageSize + 1)), pageSize + 1, cursor,
+                TransactionView::id,
+                (after, limit) -> archivedTransactionRepository.findViewsBySenderIdInPeriod(senderId, start, end, after, limit));
+        return CursorPage.of(rows, pageSize, TransactionView::id);
+    }
+
+    // Relevé : sans période précisée, les 30 derniers jours. Les totaux de l'archive
+    // sont ajoutés (parcours d'intervalle vide si la période est entièrement chaude),
+    // hors lignes encore présentes dans la table chaude pendant un archivage.
+    public TransactionStatement getStatement(Integer userId, Instant from, Instant to) {
+        Instant end = periodEnd(to);
+        Instant start = from != null ? from : end.minus(Duration.ofDays(DEFAULT_STATEMENT_DAYS));
+        validatePeriod(start, end);
+        AmountTotal sent = transactionRepository.sumSentInPeriod(userId, start, end)
+                .plus(archivedTransactionRepository.sumSentInPeriod(userId, start, end));
+        AmountTotal received = transactionRepository.sumReceivedInPeriod(userId, start, end)
+                .plus(archivedTransactionRepository.sumReceivedInPeriod(userId, start, end));
+        return new TransactionStatement(userId, start, end,
+                sent.total(), sent.count(), received.total(), received.count());
+    }
+
     public List<Transaction> getAllTransactions() {
         return transactionRepository.findAll();
     }
 
     public Optional<Transaction> getTransactionById(Integer id) {
-        return transactionRepository.findById(id);
+        return transactionRepository.findById(id)
+                .or(() -> archivedTransactionRepository.findById(id).map(archived -> toTransactions(List.of(archived)).get(0)));
+    }
+
+    // Les ids viennent d'un générateur par blocs partagé entre instances : un id archivé peut être
+    // supérieur à un id chaud. Les deux tables sont donc lues depuis le même curseur et fusionnées
+    // par id décroissant, ce qui garde un ordre total sans saut ni doublon d'une page à l'autre.
+    // Entre la copie d'une partition et son DROP, une ligne est dans les deux tables : la chaude l'emporte.
+    private static <T> List<T> withArchive(List<T> hot, int limit, Integer cursor, Function<T, Integer> idOf,
+                                           BiFunction<Integer, Limit, List<T>> archived) {
+        List<T> cold = archived.apply(startCursor(cursor), Limit.of(limit));
+        if (cold.isEmpty()) {
+            return hot;
+        }
+        List<T> rows = new ArrayList<>(Math.min(limit, hot.size() + cold.size()));
+        int h = 0;
+        int c = 0;
+        while (rows.size() < limit && (h < hot.size() || c < cold.size())) {
+            if (c == cold.size() || (h < hot.size() && idOf.apply(hot.get(h)) >= idOf.apply(cold.get(c)))) {
+                if (c < cold.size() && idOf.apply(hot.get(h)).equals(idOf.apply(cold.get(c)))) {
+                    c++;
+                }
+                rows.add(hot.get(h++));
+            } else {
+                rows.add(cold.get(c++));
+            }
+        }
+        return rows;
+    }
+
+    // Les lignes archivées n'ont que les ids des utilisateurs : une seule requête pour les charger
+    private List<Transaction> toTransactions(List<ArchivedTransaction> archived) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> userIds = new HashSet<>();
+        for (ArchivedTransaction row : archived) {
+            userIds.add(row.getSenderId());
+            userIds.add(row.getReceiverId());
+        }
+        Map<Integer, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<Transaction> transactions = new ArrayList<>(archived.size());
+        for (ArchivedTransaction row : archived) {
+            Transaction transaction = new Transaction(row.getId(), users.get(row.getSenderId()),
+                    users.get(row.getReceiverId()), row.getAmount(), row.getDescription());
+            transaction.setCreatedAt(row.getCreatedAt());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    static void validateAmount(BigDecimal amount, PaymentRejections rejections) {
+        if (amount == null) {
+            rejections.record(PaymentRejections.Reason.NON_POSITIVE_AMOUNT);
+            throw new IllegalArgumentException("Le montant ne peut pas être nul.");
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            rejections.record(PaymentRejections.Reason.NON_POSITIVE_AMOUNT);
+            throw new IllegalArgumentException("Le montant doit être strictement positif.");
+        }
+    }
+
+    static void validateParties(User sender, User receiver, PaymentRejections rejections) {
+        if (sender == null || receiver == null || sender.getId() == null || receiver.getId() == null) {
+            throw new IllegalArgumentException("L'expéditeur et le destinataire sont obligatoires.");
+        }
+        if (sender.getId().equals(receiver.getId())) {
+            rejections.record(PaymentRejections.Reason.SELF_SEND);
+            throw new IllegalArgumentException("Impossible d’envoyer de l’argent à soi-même.");
+        }
+    }
+
+    // Taille de page bornée pour éviter de charger tout l'historique d'un coup
+    static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    static void validatePeriod(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin.");
+        }
+    }
+
+    private static Instant periodEnd(Instant to) {
+        return to != null ? to : Instant.now();
+    }
+
+    private static Instant periodStart(Instant from, Instant end) {
+        Instant start = from != null ? from : Instant.EPOCH;
+        validatePeriod(start, end);
+        return start;
+    }
+
+    // Sans curseur, on part de la transaction la plus récente
+    private static Integer startCursor(Integer cursor) {
+        return cursor != null ? cursor : Integer.MAX_VALUE;
     }
 }
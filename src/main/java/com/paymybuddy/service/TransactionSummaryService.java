@@ -0,0 +1,94 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.TransactionSummary;
+import com.paymybuddy.repository.AccountRepository;
+import com.paymybuddy.repository.AccountStripeRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.repository.UserTransactionSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+public class TransactionSummaryService {
+
+    private final UserTransactionSummaryRepository summaryRepository;
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final AccountStripeRepository accountStripeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    @Autowired
+    public TransactionSummaryService(UserTransactionSummaryRepository summaryRepository,
+                                     UserRepository userRepository,
+                                     AccountRepository accountRepository,
+                                     AccountStripeRepository accountStripeRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${paymybuddy.summary.rebuild.chunk-size:1000}") int chunkSize,
+                                     @Value("${paymybuddy.summary.rebuild.parallelism:4}") int parallelism) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("La taille des tranches et le parallélisme doivent être positifs.");
+        }
+        this.summaryRepository = summaryRepository;
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.accountStripeRepository = accountStripeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    // Lecture directe de la synthèse : aucune agrégation sur la table des transactions
+    public TransactionSummary getSummary(Integer userId) {
+        return summaryRepository.findSummaryByUserId(userId)
+                .orElseGet(() -> TransactionSummary.empty(userId));
+    }
+
+    // Recalcule toute la synthèse par tranches d'ids d'utilisateurs, chacune dans sa propre transaction DB.
+    // Peut tourner pendant les paiements : chaque tranche verrouille ses comptes comme LedgerService.
+    public int rebuild() {
+        int maxId = userRepository.findMaxId();
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            for (int fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                int from = fromId;
+                int to = (int) Math.min((long) fromId + chunkSize - 1, maxId);
+                chunks.add(executor.submit(() -> rebuildRange(from, to)));
+            }
+            int rows = 0;
+            for (Future<Integer> chunk : chunks) {
+                rows += chunk.get();
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recalcul de la synthèse interrompu.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec du recalcul de la synthèse.", e.getCause());
+        }
+    }
+
+    int rebuildRange(int fromId, int toId) {
+        Integer rows = transactionTemplate.execute(status -> {
+            // Chaque ligne de synthèse est protégée par le verrou de son compte ou de sa sous-ligne :
+            // on les prend tous, dans l'ordre de LedgerService (comptes puis sous-lignes, par id), avant
+            // d'effacer la tranche. Un paiement concurrent attend la fin du recalcul, sans interblocage
+            accountRepository.findRangeForUpdate(fromId, toId);
+            accountStripeRepository.findRangeForUpdate(fromId, toId);
+            summaryRepository.deleteByUserIdBetween(fromId, toId);
+            return summaryRepository.rebuildRange(fromId, toId);
+        });
+        return rows != null ? rows : 0;
+    }
+}
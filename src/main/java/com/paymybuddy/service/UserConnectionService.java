@@ -5,24 +5,51 @@ import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserConnectionId;
 import com.paymybuddy.repository.UserConnectionRepository;
 import com.paymybuddy.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed(value = "paymybuddy.service", histogram = true)
 public class UserConnectionService {
     private final UserConnectionRepository userConnectionRepository;
     private final UserRepository userRepository;
+    private final FriendGraphIndex friendGraphIndex;
+    private final FriendSuggestionService friendSuggestionService;
 
     @Autowired
-    public UserConnectionService(UserConnectionRepository userConnectionRepository, UserRepository userRepository) {
+    public UserConnectionService(UserConnectionRepository userConnectionRepository, UserRepository userRepository,
+                                 FriendGraphIndex friendGraphIndex, FriendSuggestionService friendSuggestionService) {
         this.userConnectionRepository = userConnectionRepository;
         this.userRepository = userRepository;
+        this.friendGraphIndex = friendGraphIndex;
+        this.friendSuggestionService = friendSuggestionService;
     }
 
+    // L'index en mémoire n'est mis à jour qu'une fois l'écriture validée en base
     public UserConnection createConnection(UserConnection connection) {
-        return userConnectionRepository.save(connection);
+        UserConnection saved = userConnectionRepository.save(connection);
+        if (saved.getUser() != null && saved.getConnection() != null) {
+            friendGraphIndex.add(saved.getUser().getId(), saved.getConnection().getId());
+            friendSuggestionService.onConnectionChanged(saved.getUser().getId(), saved.getConnection().getId());
+        }
+        return saved;
+    }
+
+    // userId a-t-il ajouté connectionId ? Un succès dans l'index suffit ; sinon (index pas encore chargé,
+    // ou lien créé par une autre instance) une sonde EXISTS, dont le résultat positif complète l'index.
+    // Limite : un lien supprimé par une autre instance reste accepté ici jusqu'au prochain chargement de l'index.
+    public boolean areConnected(int userId, int connectionId) {
+        if (friendGraphIndex.isWarm() && friendGraphIndex.isFriend(userId, connectionId)) {
+            return true;
+        }
+        boolean connected = userConnectionRepository.existsByUserIdAndConnectionId(userId, connectionId);
+        if (connected && friendGraphIndex.isWarm()) {
+            friendGraphIndex.add(userId, connectionId);
+        }
+        return connected;
     }
 
     //Récupère tous les amis d’un utilisateur
@@ -42,6 +69,8 @@ public class UserConnectionService {
     public void deleteConnection(Integer userId, Integer connectionId) {
         UserConnectionId id = new UserConnectionId(userId, connectionId);
         userConnectionRepository.deleteById(id);
+        friendGraphIndex.remove(userId, connectionId);
+        friendSuggestionService.onConnectionChanged(userId, connectionId);
     }
 
 }
@@ -2,7 +2,13 @@ package com.paymybuddy.service;
 
 import com.paymybuddy.model.User;
 import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -10,33 +16,59 @@ import org.springframework.stereotype.Service;
 import java.util.*;
 
 @Service
+@Timed(value = "paymybuddy.service", histogram = true)
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final LedgerService ledgerService;
 
     @Autowired
-    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder,
+                       LedgerService ledgerService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.ledgerService = ledgerService;
     }
 
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    public static final String USERS_BY_ID = "usersById";
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_BY_EMAIL, key = "#user.email"),
+            @CacheEvict(cacheNames = USERS_BY_ID, key = "#user.id")
+    })
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Compte à solde nul ouvert avec l'utilisateur
+        ledgerService.openAccount(saved.getId());
+        return saved;
     }
 
     public List<User> getAllUsers() { return userRepository.findAll(); }
-    public Optional<User> getUserByEmail(String email) { return userRepository.findByEmail(email); }
-    public Optional<User> getUserById(Integer id) { return userRepository.findById(id); }
+
+    // Lectures mises en cache (sans le hash du mot de passe) ; les absents ne sont pas mis en cache
+    @Cacheable(cacheNames = USERS_BY_EMAIL, unless = "#result == null")
+    public Optional<User> getUserByEmail(String email) {
+        return userRepository.findByEmail(email).map(UserService::withoutPassword);
+    }
+
+    @Cacheable(cacheNames = USERS_BY_ID, unless = "#result == null")
+    public Optional<User> getUserById(Integer id) {
+        return userRepository.findById(id).map(UserService::withoutPassword);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = getUserByEmail(email)
+        // Lecture directe : l'authentification a besoin du hash, absent des valeurs en cache
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Aucun utilisateur trouvé"));
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .roles("USER")
-                .build();
+        // L'id et le nom d'affichage sont résolus une seule fois, à la connexion
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getUsername(), user.getPassword());
+    }
+
+    private static User withoutPassword(User user) {
+        return new User(user.getId(), user.getEmail(), user.getUsername(), null);
     }
 }
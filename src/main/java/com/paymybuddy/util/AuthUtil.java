@@ -1,20 +1,43 @@
 package com.paymybuddy.util;
 
 import com.paymybuddy.model.User;
+import com.paymybuddy.security.AuthenticatedUser;
 import com.paymybuddy.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class AuthUtil {
+    // Attribut de requête utilisé comme cache quand le principal ne porte pas l'utilisateur
+    static final String CURRENT_USER_ATTRIBUTE = AuthUtil.class.getName() + ".CURRENT_USER";
+
     @Autowired
     private UserService userService;
 
     public User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        // Cas nominal : l'utilisateur a été résolu à la connexion et vit dans la session
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.toUser();
+        }
+
+        // Sinon, une seule requête SQL par requête HTTP
         String email = auth.getName();
-        return userService.getUserByEmail(email).orElseThrow();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && cached.getEmail().equals(email)) {
+            return cached;
+        }
+        User user = userService.getUserByEmail(email).orElseThrow();
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
     }
 }
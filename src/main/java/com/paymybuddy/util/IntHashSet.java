@@ -0,0 +1,150 @@
+package com.paymybuddy.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Ensemble d'int sans boxing : adressage ouvert, sondage linéaire, taux de remplissage <= 1/2.
+// 0 marque une case libre : seules les valeurs strictement positives (ids) sont acceptées.
+public final class IntHashSet {
+
+    private static final int FREE = 0;
+
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    public IntHashSet() {
+        this(2);
+    }
+
+    public IntHashSet(int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private IntHashSet(IntHashSet other) {
+        this.slots = other.slots.clone();
+        this.mask = other.mask;
+        this.size = other.size;
+    }
+
+    public boolean contains(int value) {
+        if (value <= FREE) {
+            return false;
+        }
+        return indexOf(value) >= 0;
+    }
+
+    public boolean add(int value) {
+        if (value <= FREE) {
+            throw new IllegalArgumentException("Seuls les identifiants positifs sont acceptés.");
+        }
+        int index = indexOf(value);
+        if (index >= 0) {
+            return false;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length << 1);
+            index = indexOf(value);
+        }
+        slots[-index - 1] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        if (value <= FREE) {
+            return false;
+        }
+        int gap = indexOf(value);
+        if (gap < 0) {
+            return false;
+        }
+        // Suppression par recul : les valeurs suivantes du même amas comblent le trou,
+        // ce qui évite les pierres tombales et garde des recherches courtes
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            int v = slots[j];
+            if (v == FREE) {
+                break;
+            }
+            int home = mix(v) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = v;
+                gap = j;
+            }
+        }
+        slots[gap] = FREE;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public IntHashSet copy() {
+        return new IntHashSet(this);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int v : slots) {
+            if (v != FREE) {
+                action.accept(v);
+            }
+        }
+    }
+
+    public int[] toSortedArray() {
+        int[] values = new int[size];
+        int n = 0;
+        for (int v : slots) {
+            if (v != FREE) {
+                values[n++] = v;
+            }
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    // Position de la valeur si présente, sinon -(case libre + 1)
+    private int indexOf(int value) {
+        int i = mix(value) & mask;
+        while (true) {
+            int v = slots[i];
+            if (v == value) {
+                return i;
+            }
+            if (v == FREE) {
+                return -i - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int v : old) {
+            if (v != FREE) {
+                slots[-indexOf(v) - 1] = v;
+            }
+        }
+    }
+
+    // Ids consécutifs -> cases dispersées
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
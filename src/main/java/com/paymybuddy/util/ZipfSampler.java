@@ -0,0 +1,40 @@
+package com.paymybuddy.util;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Tirage d'un rang dans [0, n[ selon une loi de Zipf : P(k) proportionnel à 1 / (k + 1)^exposant.
+// Fonction de répartition précalculée (8 octets par rang), tirage par recherche dichotomique.
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("La loi de Zipf demande au moins un rang.");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("L'exposant de Zipf doit être positif ou nul.");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // Valeur absente : binarySearch renvoie -(point d'insertion) - 1
+        return index >= 0 ? index : -index - 1;
+    }
+}
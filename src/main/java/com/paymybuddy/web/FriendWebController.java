@@ -2,6 +2,7 @@ package com.paymybuddy.web;
 
 import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserConnection;
+import com.paymybuddy.service.FriendSuggestionService;
 import com.paymybuddy.service.UserConnectionService;
 import com.paymybuddy.service.UserService;
 import com.paymybuddy.util.AuthUtil;
@@ -15,11 +16,14 @@ public class FriendWebController {
 
     private final UserService userService;
     private final UserConnectionService userConnectionService;
+    private final FriendSuggestionService friendSuggestionService;
     private final AuthUtil authUtil;
 
-    public FriendWebController(UserService userService, UserConnectionService userConnectionService, AuthUtil authUtil) {
+    public FriendWebController(UserService userService, UserConnectionService userConnectionService,
+                               FriendSuggestionService friendSuggestionService, AuthUtil authUtil) {
         this.userService = userService;
         this.userConnectionService = userConnectionService;
+        this.friendSuggestionService = friendSuggestionService;
         this.authUtil = authUtil;
     }
 
@@ -27,6 +31,7 @@ public class FriendWebController {
     public String friendPage(Model model) {
         User currentUser = authUtil.getCurrentUser();
         model.addAttribute("friends", userConnectionService.getConnectionsByUser(currentUser.getId()));
+        model.addAttribute("suggestions", friendSuggestionService.suggestionsFor(currentUser.getId()));
         return "friends";
     }
 
@@ -51,7 +56,10 @@ public class FriendWebController {
             model.addAttribute("error", "Impossible de s’ajouter soi-même.");
             return "add-friend";
         }
-        // Optionnel : vérifie si la connexion existe déjà !
+        if (userConnectionService.areConnected(currentUser.getId(), friend.getId())) {
+            model.addAttribute("error", "Cet utilisateur est déjà dans vos amis.");
+            return "add-friend";
+        }
         userConnectionService.createConnection(new UserConnection(currentUser, friend));
         model.addAttribute("msg", "Ami ajouté !");
         return "add-friend";
@@ -1,6 +1,7 @@
 package com.paymybuddy.web;
 
 import com.paymybuddy.model.User;
+import com.paymybuddy.service.TransactionSummaryService;
 import com.paymybuddy.util.AuthUtil;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -9,8 +10,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
     private final AuthUtil authUtil;
+    private final TransactionSummaryService transactionSummaryService;
 
-    public HomeController(AuthUtil authUtil) { this.authUtil = authUtil; }
+    public HomeController(AuthUtil authUtil, TransactionSummaryService transactionSummaryService) {
+        this.authUtil = authUtil;
+        this.transactionSummaryService = transactionSummaryService;
+    }
 
     @GetMapping("/")
     public String home(Model model) {
@@ -19,6 +24,9 @@ public class HomeController {
             user = authUtil.getCurrentUser();
         } catch (Exception e) { /* ignoré si pas connecté */ }
         model.addAttribute("user", user);
+        if (user != null) {
+            model.addAttribute("summary", transactionSummaryService.getSummary(user.getId()));
+        }
         return "home";
     }
 }
@@ -1,8 +1,11 @@
 package com.paymybuddy.web;
 
+import com.paymybuddy.dto.CursorPage;
+import com.paymybuddy.dto.TransactionView;
 import com.paymybuddy.model.Transaction;
 import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserConnection;
+import com.paymybuddy.service.PaymentRejections;
 import com.paymybuddy.service.TransactionService;
 import com.paymybuddy.service.UserService;
 import com.paymybuddy.service.UserConnectionService;
@@ -11,6 +14,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @Controller
@@ -21,22 +26,33 @@ public class TransactionWebController {
     private final UserService userService;
     private final UserConnectionService userConnectionService;
     private final AuthUtil authUtil;
+    private final PaymentRejections paymentRejections;
 
     public TransactionWebController(TransactionService transactionService,
                                     UserService userService,
                                     UserConnectionService userConnectionService,
-                                    AuthUtil authUtil) {
+                                    AuthUtil authUtil,
+                                    PaymentRejections paymentRejections) {
         this.transactionService = transactionService;
         this.userService = userService;
         this.userConnectionService = userConnectionService;
         this.authUtil = authUtil;
+        this.paymentRejections = paymentRejections;
     }
 
     @GetMapping
-    public String listTransactions(Model model) {
+    public String listTransactions(@RequestParam(required = false) Integer cursor,
+                                   @RequestParam(required = false) Integer days, Model model) {
         User currentUser = authUtil.getCurrentUser();
-        model.addAttribute("transactions",
-                transactionService.getTransactionsBySender(currentUser.getId()));
+        // ?days=30 : seulement les transactions des 30 derniers jours
+        CursorPage<TransactionView> page = days != null && days > 0
+                ? transactionService.getTransactionViewsBySender(currentUser.getId(),
+                        Instant.now().minus(Duration.ofDays(days)), null, cursor, TransactionService.DEFAULT_PAGE_SIZE)
+                : transactionService.getTransactionViewsBySender(
+                        currentUser.getId(), cursor, TransactionService.DEFAULT_PAGE_SIZE);
+        model.addAttribute("transactions", page.items());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("days", days != null && days > 0 ? days : null);
         return "transactions";
     }
 
@@ -61,12 +77,11 @@ public class TransactionWebController {
         User sender = authUtil.getCurrentUser();
         User receiver = userService.getUserById(receiverId).orElseThrow();
 
-        // Vérifie que le receiver est bien un ami
-        boolean isFriend = userConnectionService.getConnectionsByUser(sender.getId())
-                .stream()
-                .anyMatch(uc -> uc.getConnection().getId().equals(receiverId));
+        // Vérifie que le receiver est bien un ami (sans charger la liste d'amis)
+        boolean isFriend = userConnectionService.areConnected(sender.getId(), receiverId);
 
         if (!isFriend) {
+            paymentRejections.record(PaymentRejections.Reason.NOT_A_FRIEND);
             prepareFormModel(model, sender, transaction);
             model.addAttribute("error", "Vous ne pouvez envoyer de l'argent qu'à vos amis.");
             return "transaction-form";
@@ -74,6 +89,7 @@ public class TransactionWebController {
 
 
         if (sender.getId().equals(receiver.getId())) {
+            paymentRejections.record(PaymentRejections.Reason.SELF_SEND);
             prepareFormModel(model, sender, transaction);
             model.addAttribute("error", "Impossible d’envoyer de l’argent à soi-même.");
             return "transaction-form";
@@ -0,0 +1,93 @@
+package com.paymybuddy.benchmark;
+
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserConnection;
+import com.paymybuddy.repository.UserConnectionRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.FriendGraphIndex;
+import com.paymybuddy.service.UserConnectionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérification d'amitié pour un utilisateur qui a 5 000 amis : liste complète + anyMatch
+ * (ancien chemin), sonde EXISTS, puis index en mémoire.
+ * Lancé uniquement avec le profil Maven benchmarks : mvn -Pbenchmarks test
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:friendbench",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class FriendshipCheckBenchmarkTest {
+
+    private static final int FRIENDS = 5_000;
+    private static final int CHECKS = 200;
+
+    @Autowired
+    private UserConnectionService userConnectionService;
+
+    @Autowired
+    private UserConnectionRepository userConnectionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FriendGraphIndex friendGraphIndex;
+
+    @Test
+    void compareFriendshipChecks() {
+        User popular = userRepository.save(new User(null, "popular@example.com", "popular", "x"));
+        List<User> friends = new ArrayList<>();
+        for (int i = 0; i < FRIENDS; i++) {
+            friends.add(new User(null, "friend" + i + "@example.com", "friend" + i, "x"));
+        }
+        friends = userRepository.saveAll(friends);
+        List<UserConnection> connections = new ArrayList<>();
+        for (User friend : friends) {
+            connections.add(new UserConnection(popular, friend));
+        }
+        userConnectionRepository.saveAll(connections);
+        friendGraphIndex.warmUp();
+
+        int popularId = popular.getId();
+        int lastFriend = friends.get(FRIENDS - 1).getId();
+
+        long listScan = measure("liste + anyMatch", receiverId -> userConnectionService
+                .getConnectionsByUser(popularId).stream()
+                .anyMatch(uc -> uc.getConnection().getId().equals(receiverId)), lastFriend);
+        long exists = measure("EXISTS", receiverId -> userConnectionRepository
+                .existsByUserIdAndConnectionId(popularId, receiverId), lastFriend);
+        long index = measure("index en mémoire", receiverId -> userConnectionService
+                .areConnected(popularId, receiverId), lastFriend);
+
+        assertTrue(exists < listScan);
+        assertTrue(index <= exists);
+    }
+
+    private long measure(String label, IntPredicate check, int receiverId) {
+        // Échauffement
+        for (int i = 0; i < 10; i++) {
+            assertTrue(check.test(receiverId));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            assertTrue(check.test(receiverId));
+        }
+        long perCheckMicros = (System.nanoTime() - start) / CHECKS / 1_000;
+        System.out.printf("%-18s : %,d µs par vérification (%d amis)%n", label, perCheckMicros, FRIENDS);
+        return perCheckMicros;
+    }
+}
@@ -0,0 +1,128 @@
+package com.paymybuddy.benchmark;
+
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.LedgerEntryRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.LedgerService;
+import com.paymybuddy.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Débit de paiements concurrents vers un même destinataire populaire.
+ * Lancé uniquement avec le profil Maven benchmarks : mvn -Pbenchmarks test
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:ledgerbench;LOCK_TIMEOUT=30000",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class HotReceiverLedgerBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int PAYMENTS_PER_THREAD = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    /**
+     * Tous les threads paient le même destinataire ; un thread sur deux envoie aussi
+     * des virements croisés entre deux comptes pour vérifier l'absence d'interblocage.
+     */
+    @Test
+    void hammerPopularReceiver() throws Exception {
+        hammer("single", 0);
+    }
+
+    /**
+     * Même charge, avec le solde du destinataire réparti sur 16 sous-lignes
+     */
+    @Test
+    void hammerStripedReceiver() throws Exception {
+        hammer("striped", 16);
+    }
+
+    private void hammer(String label, int stripes) throws Exception {
+        User receiver = register(label + "-celebrity@example.com", "celebrity");
+        User alice = register(label + "-alice@example.com", "alice");
+        User bob = register(label + "-bob@example.com", "bob");
+        List<User> senders = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            senders.add(register(label + "-fan" + i + "@example.com", "fan" + i));
+        }
+        if (stripes > 0) {
+            ledgerService.enableStripedBalance(receiver.getId(), stripes);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            User sender = senders.get(i);
+            boolean crossing = i % 2 == 0;
+            futures.add(pool.submit(() -> {
+                for (int n = 0; n < PAYMENTS_PER_THREAD; n++) {
+                    transactionService.createTransaction(payment(sender, receiver, "1.00"));
+                    if (crossing) {
+                        boolean forward = n % 2 == 0;
+                        transactionService.createTransaction(payment(forward ? alice : bob, forward ? bob : alice, "1.00"));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        int hotPayments = THREADS * PAYMENTS_PER_THREAD;
+        int crossPayments = (THREADS / 2) * PAYMENTS_PER_THREAD;
+        System.out.printf("%s (%d sous-lignes) : %d paiements (+%d croisés) en %d ms, %.0f paiements/s%n",
+                label, stripes, hotPayments, crossPayments, elapsedNanos / 1_000_000,
+                (hotPayments + crossPayments) * 1e9 / elapsedNanos);
+
+        // Aucune mise à jour perdue, et le grand livre concorde avec les soldes
+        assertEquals(0, new BigDecimal(hotPayments).compareTo(ledgerService.getBalance(receiver.getId())));
+        assertEquals(0, ledgerService.getBalance(alice.getId()).add(ledgerService.getBalance(bob.getId()))
+                .compareTo(BigDecimal.ZERO));
+        assertEquals(0, ledgerService.getBalance(receiver.getId())
+                .compareTo(ledgerEntryRepository.sumByUserId(receiver.getId())));
+    }
+
+    private User register(String email, String username) {
+        User user = userRepository.save(new User(null, email, username, "x"));
+        ledgerService.openAccount(user.getId());
+        return user;
+    }
+
+    private static Transaction payment(User sender, User receiver, String amount) {
+        return new Transaction(null, sender, receiver, new BigDecimal(amount), "benchmark");
+    }
+}
@@ -0,0 +1,93 @@
+package com.paymybuddy.benchmark;
+
+import com.paymybuddy.config.ConnectionBulkhead;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.LedgerService;
+import com.paymybuddy.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Milliers de requêtes concurrentes sur threads virtuels devant un pool de 4 connexions.
+ * Sans la cloison, la plupart échoueraient sur le connection-timeout de Hikari.
+ * Lancé uniquement avec le profil Maven benchmarks : mvn -Pbenchmarks test
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:vthreadbench;LOCK_TIMEOUT=30000",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=250",
+        "spring.jpa.show-sql=false",
+        "paymybuddy.db.bulkhead.permits=4"
+})
+@ActiveProfiles({"test", "virtual"})
+class VirtualThreadBulkheadBenchmarkTest {
+
+    private static final int REQUESTS = 5_000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private ConnectionBulkhead connectionBulkhead;
+
+    /**
+     * Une requête = une lecture d'historique ; une sur dix crée aussi un paiement
+     */
+    @Test
+    void parkThousandsOfRequestsOnTheBulkhead() throws Exception {
+        User alice = register("vt-alice@example.com", "alice");
+        User bob = register("vt-bob@example.com", "bob");
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    if (n % 10 == 0) {
+                        transactionService.createTransaction(
+                                new Transaction(null, alice, bob, BigDecimal.ONE, "vt-" + n));
+                    }
+                    return transactionService.getTransactionViewsBySender(alice.getId(), null, null);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("virtual threads + bulkhead : %d requêtes en %d ms (%.0f req/s)%n",
+                REQUESTS, elapsedMs, REQUESTS * 1000.0 / Math.max(elapsedMs, 1));
+        assertEquals(REQUESTS / 10, transactionService.getTransactionsBySender(alice.getId()).size());
+        assertEquals(4, connectionBulkhead.availablePermits());
+    }
+
+    private User register(String email, String username) {
+        User user = userRepository.save(new User(null, email, username, "x"));
+        ledgerService.openAccount(user.getId());
+        return user;
+    }
+}
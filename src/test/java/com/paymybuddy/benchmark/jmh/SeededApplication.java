@@ -0,0 +1,158 @@
+package com.paymybuddy.benchmark.jmh;
+
+import com.paymybuddy.PaymybuddyApplication;
+import com.paymybuddy.model.Account;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.AccountRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.TransactionService;
+import com.paymybuddy.service.UserConnectionService;
+import com.paymybuddy.service.UserService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Application complète sur une base H2 en mémoire, démarrée une fois par fork JMH et peuplée de
+ * {@code users} utilisateurs ayant chacun {@code friends} amis et un compte créditeur.
+ * Taille réglable en ligne de commande : {@code -p users=100000 -p friends=50}.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    static final String PASSWORD = "password";
+    private static final int CHUNK = 1_000;
+
+    @Param("10000")
+    public int users;
+
+    @Param("20")
+    public int friends;
+
+    // Cache de second niveau (User, UserConnection) comme en production ; -p secondLevelCache=false pour le couper
+    @Param("true")
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private int[] userIds;
+
+    // Résolus une fois : la recherche d'un bean ne doit pas entrer dans la mesure
+    private TransactionService transactionService;
+    private UserConnectionService userConnectionService;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        if (friends >= users) {
+            throw new IllegalArgumentException("Il faut plus d'utilisateurs que d'amis par utilisateur.");
+        }
+        context = new SpringApplicationBuilder(PaymybuddyApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.autoconfigure.exclude=",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                        "server.port=0",
+                        "management.server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+        seed();
+        transactionService = bean(TransactionService.class);
+        userConnectionService = bean(UserConnectionService.class);
+        userService = bean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public TransactionService transactionService() {
+        return transactionService;
+    }
+
+    public UserConnectionService userConnectionService() {
+        return userConnectionService;
+    }
+
+    public UserService userService() {
+        return userService;
+    }
+
+    private <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    // Un autre utilisateur que userId, tiré uniformément
+    public int randomUserIdOtherThan(int userId) {
+        int other = randomUserId();
+        while (other == userId) {
+            other = randomUserId();
+        }
+        return other;
+    }
+
+    public static String emailOf(int index) {
+        return "user" + index + "@bench.paymybuddy";
+    }
+
+    public String randomEmail() {
+        return emailOf(ThreadLocalRandom.current().nextInt(users));
+    }
+
+    // Par blocs de 1000 lignes : INSERT groupés en lots JDBC, contexte de persistance court
+    private void seed() {
+        UserRepository userRepository = bean(UserRepository.class);
+        AccountRepository accountRepository = bean(AccountRepository.class);
+        String hash = bean(BCryptPasswordEncoder.class).encode(PASSWORD);
+
+        List<User> saved = new ArrayList<>(users);
+        for (int from = 0; from < users; from += CHUNK) {
+            List<User> chunk = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(users, from + CHUNK); i++) {
+                chunk.add(new User(null, emailOf(i), "user" + i, hash));
+            }
+            List<User> created = userRepository.saveAll(chunk);
+            List<Account> accounts = new ArrayList<>(created.size());
+            for (User user : created) {
+                accounts.add(new Account(user.getId(), new BigDecimal("1000000.00")));
+            }
+            accountRepository.saveAll(accounts);
+            saved.addAll(created);
+        }
+        userIds = saved.stream().mapToInt(User::getId).toArray();
+
+        // Chaque utilisateur suit les « friends » utilisateurs suivants (anneau). En JDBC direct :
+        // la clé composite est fournie, saveAll ferait un SELECT (merge) par lien
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        List<Object[]> connections = new ArrayList<>(CHUNK);
+        for (int i = 0; i < users; i++) {
+            for (int k = 1; k <= friends; k++) {
+                connections.add(new Object[]{userIds[i], userIds[(i + k) % users]});
+                if (connections.size() == CHUNK) {
+                    jdbcTemplate.batchUpdate("INSERT INTO user_connections (user_id, connection_id) VALUES (?, ?)", connections);
+                    connections.clear();
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_connections (user_id, connection_id) VALUES (?, ?)", connections);
+    }
+}
@@ -0,0 +1,38 @@
+package com.paymybuddy.benchmark.jmh;
+
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paiement complet : chargement des deux utilisateurs, INSERT de la transaction, verrous et mise à jour
+ * des soldes, grand livre et synthèse, dans une transaction DB. La table grossit pendant la mesure.
+ * Débit (ops/ms) et distribution des latences (SampleTime : p50, p99, p99.9).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("12.50");
+
+    @Benchmark
+    public Transaction createTransaction(SeededApplication app) {
+        int senderId = app.randomUserId();
+        int receiverId = app.randomUserIdOtherThan(senderId);
+        Transaction transaction = new Transaction(null, new User(senderId, null, null, null),
+                new User(receiverId, null, null, null), AMOUNT, "jmh");
+        return app.transactionService().createTransaction(transaction);
+    }
+}
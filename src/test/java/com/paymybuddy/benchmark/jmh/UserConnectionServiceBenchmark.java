@@ -0,0 +1,31 @@
+package com.paymybuddy.benchmark.jmh;
+
+import com.paymybuddy.model.UserConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liste d'amis d'un utilisateur tiré au hasard : utilisateur par id, puis liens joints aux amis
+ * (graphe UserConnection.withBothSides). Avec secondLevelCache=true, servie en régime établi
+ * par le cache de requêtes et les régions de second niveau.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserConnectionServiceBenchmark {
+
+    @Benchmark
+    public List<UserConnection> getConnectionsByUser(SeededApplication app) {
+        return app.userConnectionService().getConnectionsByUser(app.randomUserId());
+    }
+}
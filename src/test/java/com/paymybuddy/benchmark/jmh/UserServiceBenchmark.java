@@ -0,0 +1,29 @@
+package com.paymybuddy.benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Résolution de l'utilisateur à la connexion (recherche par e-mail, hash compris). Le contrôle
+ * BCrypt du mot de passe, fait ensuite par Spring Security, n'est pas mesuré ici.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Benchmark
+    public UserDetails loadUserByUsername(SeededApplication app) {
+        return app.userService().loadUserByUsername(app.randomEmail());
+    }
+}
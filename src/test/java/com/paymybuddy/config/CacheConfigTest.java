@@ -0,0 +1,128 @@
+package com.paymybuddy.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.LedgerService;
+import com.paymybuddy.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du cache des lectures d'utilisateurs de UserService
+ */
+@SpringJUnitConfig
+class CacheConfigTest {
+
+    // Proxy par classe comme dans l'application (spring.aop.proxy-target-class) : UserService implémente
+    // UserDetailsService et serait sinon exposé par un proxy JDK de l'interface
+    @Configuration
+    @EnableCaching(proxyTargetClass = true)
+    @Import({CacheConfig.class, UserService.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(UserService.USERS_BY_EMAIL, UserService.USERS_BY_ID);
+            cacheManager.setCaffeineSpec(CaffeineSpec.parse("maximumSize=100,recordStats"));
+            return cacheManager;
+        }
+    }
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        alice = new User(1, "alice@example.com", "alice", "$2a$10$hash");
+    }
+
+    /**
+     * Test d'une deuxième lecture servie par le cache, sans hash de mot de passe
+     */
+    @Test
+    void testLookupsAreCachedWithoutPassword() {
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(alice));
+        when(userRepository.findById(1)).thenReturn(Optional.of(alice));
+
+        userService.getUserByEmail("alice@example.com");
+        Optional<User> byEmail = userService.getUserByEmail("alice@example.com");
+        userService.getUserById(1);
+        Optional<User> byId = userService.getUserById(1);
+
+        verify(userRepository, times(1)).findByEmail("alice@example.com");
+        verify(userRepository, times(1)).findById(1);
+        assertNull(byEmail.orElseThrow().getPassword());
+        assertNull(byId.orElseThrow().getPassword());
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(UserService.USERS_BY_EMAIL);
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+    }
+
+    /**
+     * Test d'un email inconnu : non mis en cache, l'inscription qui suit est visible tout de suite
+     */
+    @Test
+    void testCreateUserEvictsLookup() {
+        when(userRepository.findByEmail("bob@example.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new User(2, "bob@example.com", "bob", "hash")));
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(2);
+            return saved;
+        });
+
+        assertTrue(userService.getUserByEmail("bob@example.com").isEmpty());
+        userService.createUser(new User(null, "bob@example.com", "bob", "secret"));
+
+        assertTrue(userService.getUserByEmail("bob@example.com").isPresent());
+        assertNull(cacheManager.getCache(UserService.USERS_BY_ID).get(2));
+    }
+
+    /**
+     * Test de la connexion : toujours lue en base, avec le hash
+     */
+    @Test
+    void testLoadUserByUsernameBypassesCache() {
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(alice));
+
+        userService.getUserByEmail("alice@example.com");
+
+        assertEquals("$2a$10$hash", userService.loadUserByUsername("alice@example.com").getPassword());
+        verify(userRepository, times(2)).findByEmail("alice@example.com");
+    }
+}
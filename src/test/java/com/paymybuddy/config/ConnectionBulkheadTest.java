@@ -0,0 +1,93 @@
+package com.paymybuddy.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour ConnectionBulkhead avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectionBulkheadTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private ProceedingJoinPoint nested;
+
+    /**
+     * Test d'un appel simple : le permis est rendu après l'appel
+     */
+    @Test
+    void testPermitIsReleased() throws Throwable {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(1, 100);
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        assertEquals("ok", bulkhead.guard(joinPoint));
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    /**
+     * Test d'un appel imbriqué : un seul permis pour le service et ses repositories
+     */
+    @Test
+    void testNestedCallReusesPermit() throws Throwable {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(1, 10);
+        when(nested.proceed()).thenReturn("inner");
+        when(joinPoint.proceed()).thenAnswer(invocation -> bulkhead.guard(nested));
+
+        assertEquals("inner", bulkhead.guard(joinPoint));
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    /**
+     * Test du permis rendu même quand l'appel échoue
+     */
+    @Test
+    void testPermitIsReleasedOnFailure() throws Throwable {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(1, 100);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.guard(joinPoint));
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    /**
+     * Test du refus quand aucun permis ne se libère à temps
+     */
+    @Test
+    void testRejectsWhenSaturated() throws Throwable {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(1, 50);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        Thread owner = Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.guard(joinPoint);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        assertThrows(RejectedExecutionException.class, () -> bulkhead.guard(nested));
+        release.countDown();
+        owner.join();
+        assertEquals(1, bulkhead.availablePermits());
+    }
+}
@@ -0,0 +1,151 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserConnection;
+import com.paymybuddy.repository.TransactionRepository;
+import com.paymybuddy.repository.UserConnectionRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests du profil virtual : sans open-in-view, la connexion JDBC est rendue dès la fin du service,
+ * avant le rendu de la vue, et la cloison borne donc bien l'usage du pool Hikari
+ */
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:virtualprofile",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "virtual"})
+class VirtualProfileOpenInViewTest {
+
+    // Connexions Hikari actives relevées après le contrôleur, juste avant le rendu de la vue
+    private static final List<Integer> ACTIVE_BEFORE_VIEW = new ArrayList<>();
+
+    @TestConfiguration
+    static class ActiveConnectionProbe implements WebMvcConfigurer {
+        @Autowired
+        private DataSource dataSource;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                       ModelAndView modelAndView) throws SQLException {
+                    ACTIVE_BEFORE_VIEW.add(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                            .getActiveConnections());
+                }
+            });
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserConnectionRepository userConnectionRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        ACTIVE_BEFORE_VIEW.clear();
+        alice = userRepository.save(new User(null, "alice.virtual@example.com", "alice", "password"));
+        bob = userRepository.save(new User(null, "bob.virtual@example.com", "bob", "password"));
+        userConnectionRepository.save(new UserConnection(alice, bob));
+        transactionRepository.save(new Transaction(null, alice, bob, new BigDecimal("10.00"), "Repas"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        userConnectionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Test de la configuration : pas d'intercepteur open-in-view dans le profil virtual
+     */
+    @Test
+    void testOpenInViewIsDisabled() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    /**
+     * Test des pages qui lisent la base : rendues sans connexion JDBC retenue pendant la vue
+     */
+    @Test
+    @WithMockUser(username = "alice.virtual@example.com")
+    void testPagesReleaseConnectionBeforeRendering() throws Exception {
+        mockMvc.perform(get("/transactions"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bob")));
+        mockMvc.perform(get("/friends"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bob.virtual@example.com")));
+        mockMvc.perform(get("/transactions/new"))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(0, 0, 0), ACTIVE_BEFORE_VIEW);
+    }
+
+    /**
+     * Test des endpoints REST d'amis : les deux côtés du lien sont sérialisés sans session ouverte
+     */
+    @Test
+    @WithMockUser
+    void testConnectionEndpointsSerializeBothSides() throws Exception {
+        mockMvc.perform(get("/api/user-connections/user/" + alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.username").value("alice"))
+                .andExpect(jsonPath("$[0].connection.username").value("bob"));
+        mockMvc.perform(get("/api/user-connections/connection/" + bob.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.username").value("alice"))
+                .andExpect(jsonPath("$[0].connection.username").value("bob"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.dto.AccountBalance;
+import com.paymybuddy.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitaires pour AccountController
+ */
+@WebMvcTest(AccountController.class)
+class AccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    /**
+     * Test de lecture du solde d'un utilisateur
+     */
+    @Test
+    @WithMockUser
+    void testGetBalance() throws Exception {
+        when(ledgerService.getAccountBalance(1)).thenReturn(new AccountBalance(1, new BigDecimal("42.50"), 0));
+
+        mockMvc.perform(get("/api/accounts/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.balance").value(42.5))
+                .andExpect(jsonPath("$.stripes").value(0));
+    }
+
+    /**
+     * Test d'activation du solde réparti
+     */
+    @Test
+    @WithMockUser
+    void testEnableStripedBalance() throws Exception {
+        when(ledgerService.enableStripedBalance(1, 8)).thenReturn(new AccountBalance(1, BigDecimal.TEN, 8));
+
+        mockMvc.perform(put("/api/accounts/1/stripes").param("stripes", "8").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stripes").value(8));
+    }
+}
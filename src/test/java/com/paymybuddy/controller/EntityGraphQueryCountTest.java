@@ -0,0 +1,150 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserConnection;
+import com.paymybuddy.repository.TransactionRepository;
+import com.paymybuddy.repository.UserConnectionRepository;
+import com.paymybuddy.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Nombre de requêtes SQL par endpoint : les associations sont paresseuses et chaque lecture
+ * joint, via un graphe d'entités, exactement ce qu'elle renvoie. Une régression (retour à
+ * EAGER, graphe oublié) se traduit par des SELECT supplémentaires sur users.
+ */
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:entitygraphs",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class EntityGraphQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserConnectionRepository userConnectionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User alice;
+    private User bob;
+    private User carol;
+    private Transaction toBob;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(new User(null, "alice.graph@example.com", "alice", "password"));
+        bob = userRepository.save(new User(null, "bob.graph@example.com", "bob", "password"));
+        carol = userRepository.save(new User(null, "carol.graph@example.com", "carol", "password"));
+        toBob = transactionRepository.save(new Transaction(null, alice, bob, new BigDecimal("10.00"), "Repas"));
+        transactionRepository.save(new Transaction(null, alice, carol, new BigDecimal("20.00"), "Cinéma"));
+        userConnectionRepository.saveAll(List.of(new UserConnection(alice, bob), new UserConnection(alice, carol),
+                new UserConnection(carol, bob)));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userConnectionRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Test de l'historique REST d'un expéditeur : une requête avec jointures, plus la sonde de l'archive
+     */
+    @Test
+    void testSenderHistoryJoinsBothParties() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("senderId", alice.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].receiver.username").value("carol"))
+                .andExpect(jsonPath("$.items[1].receiver.username").value("bob"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test de l'historique REST d'un destinataire
+     */
+    @Test
+    void testReceiverHistoryJoinsBothParties() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("receiverId", bob.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].sender.username").value("alice"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test du détail REST d'une transaction : une seule requête
+     */
+    @Test
+    void testTransactionDetailIsSingleQuery() throws Exception {
+        mockMvc.perform(get("/api/transactions/" + toBob.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sender.username").value("alice"))
+                .andExpect(jsonPath("$.receiver.username").value("bob"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test de la liste d'amis : l'utilisateur, puis ses liens joints aux amis
+     */
+    @Test
+    void testFriendListJoinsConnections() throws Exception {
+        mockMvc.perform(get("/api/user-connections/user/" + alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].user.username").value("alice"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test de la liste des utilisateurs qui ont ajouté un ami
+     */
+    @Test
+    void testAddedByListJoinsUsers() throws Exception {
+        mockMvc.perform(get("/api/user-connections/connection/" + bob.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].connection.username").value("bob"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,7 +1,12 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.CursorPage;
+import com.paymybuddy.dto.TransactionStatement;
 import com.paymybuddy.model.Transaction;
 import com.paymybuddy.model.User;
+import com.paymybuddy.service.IdempotencyService;
+import com.paymybuddy.service.PaymentPipeline;
+import com.paymybuddy.service.TransactionExportService;
 import com.paymybuddy.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +17,22 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +50,15 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private PaymentPipeline paymentPipeline;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -83,6 +106,69 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.receiver.id").value(2));
     }
 
+    /**
+     * Test de création avec Idempotency-Key : la requête passe par le service d'idempotence
+     */
+    @Test
+    @WithMockUser
+    void testCreateTransactionWithIdempotencyKey() throws Exception {
+        when(idempotencyService.createOnce(eq("retry-42"), any(Transaction.class))).thenReturn(testTransaction);
+
+        mockMvc.perform(post("/api/transactions")
+                .with(csrf())
+                .header("Idempotency-Key", "retry-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testTransaction)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(transactionService, never()).createTransaction(any(Transaction.class));
+    }
+
+    /**
+     * Test de création en mode pipeline et du refus quand la file est pleine
+     */
+    @Test
+    @WithMockUser
+    void testCreateTransactionThroughPipeline() throws Exception {
+        when(paymentPipeline.isEnabled()).thenReturn(true);
+        when(paymentPipeline.submitAndWait(any(Transaction.class)))
+                .thenReturn(testTransaction)
+                .thenThrow(new RejectedExecutionException("Trop de paiements en attente, réessayez plus tard."));
+
+        mockMvc.perform(post("/api/transactions")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testTransaction)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        mockMvc.perform(post("/api/transactions")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testTransaction)))
+                .andExpect(status().isServiceUnavailable());
+
+        verify(transactionService, never()).createTransaction(any(Transaction.class));
+    }
+
+    /**
+     * Test de création d'un lot de transactions via POST
+     */
+    @Test
+    @WithMockUser
+    void testCreateTransactionsBatch() throws Exception {
+        when(transactionService.createTransactions(any())).thenReturn(List.of(testTransaction));
+
+        mockMvc.perform(post("/api/transactions/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testTransaction))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].amount").value(100.0));
+    }
+
     /**
      * Test de récupération de toutes les transactions via GET
      */
@@ -97,13 +183,79 @@ class TransactionControllerTest {
         transaction2.setDescription("Second transaction");
 
         List<Transaction> transactions = Arrays.asList(testTransaction, transaction2);
-        when(transactionService.getAllTransactions()).thenReturn(transactions);
+        when(transactionService.getTransactions(null, null)).thenReturn(new CursorPage<>(transactions, null));
 
         mockMvc.perform(get("/api/transactions"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].id").value(2));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * Test de récupération d'une page suivante avec curseur et taille
+     */
+    @Test
+    @WithMockUser
+    void testGetTransactionsWithCursor() throws Exception {
+        when(transactionService.getTransactions(10, 1)).thenReturn(new CursorPage<>(List.of(testTransaction), 1));
+
+        mockMvc.perform(get("/api/transactions").param("cursor", "10").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+    }
+
+    /**
+     * Test de récupération paginée des transactions d'un expéditeur
+     */
+    @Test
+    @WithMockUser
+    void testGetTransactionsBySender() throws Exception {
+        when(transactionService.getTransactionsBySender(1, null, null))
+                .thenReturn(new CursorPage<>(List.of(testTransaction), null));
+
+        mockMvc.perform(get("/api/transactions").param("senderId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].sender.id").value(1));
+    }
+
+    /**
+     * Test de l'historique d'un expéditeur restreint à une période
+     */
+    @Test
+    @WithMockUser
+    void testGetTransactionsBySenderInPeriod() throws Exception {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-02-01T00:00:00Z");
+        when(transactionService.getTransactionsBySender(1, from, to, null, null))
+                .thenReturn(new CursorPage<>(List.of(testTransaction), null));
+
+        mockMvc.perform(get("/api/transactions").param("senderId", "1")
+                        .param("from", "2025-01-01T00:00:00Z").param("to", "2025-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1));
+        verify(transactionService, never()).getTransactionsBySender(1, null, null);
+    }
+
+    /**
+     * Test du relevé d'un utilisateur sur une période
+     */
+    @Test
+    @WithMockUser
+    void testGetStatement() throws Exception {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-02-01T00:00:00Z");
+        when(transactionService.getStatement(1, from, to)).thenReturn(new TransactionStatement(1, from, to,
+                new BigDecimal("20.00"), 2, new BigDecimal("5.00"), 1));
+
+        mockMvc.perform(get("/api/transactions/statement").param("userId", "1")
+                        .param("from", "2025-01-01T00:00:00Z").param("to", "2025-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSent").value(20.00))
+                .andExpect(jsonPath("$.sentCount").value(2))
+                .andExpect(jsonPath("$.receivedCount").value(1));
     }
 
     /**
@@ -179,4 +331,36 @@ class TransactionControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.description").doesNotExist());
     }
+
+    /**
+     * Test de l'export CSV en flux via GET /export
+     */
+    @Test
+    @WithMockUser
+    void testExportTransactionsAsCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,sender,receiver,amount,description\n1,sender,receiver,100.0,Test\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionExportService).export(eq(TransactionExportService.Format.CSV), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/api/transactions/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,sender,receiver,amount,description\n1,sender,receiver,100.0,Test\n"));
+    }
+
+    /**
+     * Test d'un format d'export inconnu
+     */
+    @Test
+    @WithMockUser
+    void testExportTransactionsWithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/transactions/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
 }
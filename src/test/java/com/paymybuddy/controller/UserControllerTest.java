@@ -1,6 +1,8 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.TransactionSummary;
 import com.paymybuddy.model.User;
+import com.paymybuddy.service.TransactionSummaryService;
 import com.paymybuddy.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +37,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private TransactionSummaryService transactionSummaryService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -142,4 +148,21 @@ class UserControllerTest {
                 .content("{invalid json"))
                 .andExpect(status().is5xxServerError());
     }
+
+    /**
+     * Test de lecture de la synthèse des transactions d'un utilisateur
+     */
+    @Test
+    @WithMockUser
+    void testGetSummary() throws Exception {
+        when(transactionSummaryService.getSummary(1))
+                .thenReturn(new TransactionSummary(1, new BigDecimal("12.50"), 2, new BigDecimal("3.00"), 1));
+
+        mockMvc.perform(get("/api/users/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.totalSent").value(12.50))
+                .andExpect(jsonPath("$.sentCount").value(2))
+                .andExpect(jsonPath("$.receivedCount").value(1));
+    }
 }
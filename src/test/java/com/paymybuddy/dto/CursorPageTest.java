@@ -0,0 +1,47 @@
+package com.paymybuddy.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CursorPage
+ */
+class CursorPageTest {
+
+    /**
+     * Test d'une page pleine suivie d'une autre page
+     */
+    @Test
+    void testPageWithNext() {
+        CursorPage<Integer> page = CursorPage.of(List.of(9, 8, 7), 2, Function.identity());
+
+        assertEquals(List.of(9, 8), page.items());
+        assertEquals(8, page.nextCursor());
+    }
+
+    /**
+     * Test de la dernière page
+     */
+    @Test
+    void testLastPage() {
+        CursorPage<Integer> page = CursorPage.of(List.of(9, 8), 2, Function.identity());
+
+        assertEquals(List.of(9, 8), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Test d'une page vide
+     */
+    @Test
+    void testEmptyPage() {
+        CursorPage<Integer> page = CursorPage.of(List.of(), 20, Function.identity());
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+}
@@ -0,0 +1,54 @@
+package com.paymybuddy.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences d'un endpoint, en microsecondes (jusqu'à 60 s, 3 chiffres significatifs), et erreurs.
+ * Alimenté en parallèle par tous les clients virtuels.
+ */
+public final class EndpointStats {
+
+    static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos) {
+        histogram.recordValue(Math.clamp(TimeUnit.NANOSECONDS.toMicros(nanos), 1, HIGHEST_MICROS));
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Histogram histogram() {
+        return histogram;
+    }
+
+    // Une requête est soit mesurée (réponse attendue), soit comptée en erreur, jamais les deux
+    public long requests() {
+        return histogram.getTotalCount() + errors.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    // Percentile en millisecondes, par exemple percentileMillis(99.9)
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
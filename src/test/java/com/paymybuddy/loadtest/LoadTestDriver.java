@@ -0,0 +1,233 @@
+package com.paymybuddy.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scénario de charge en boucle fermée : chaque client virtuel (un thread virtuel) se connecte par
+ * le formulaire de login, puis enchaîne /friends, /transactions/new, POST /transactions vers un ami
+ * lu dans le formulaire et /api/transactions, et se reconnecte tous les reloginEvery parcours.
+ * Les comptes sont ceux du générateur de données (user&lt;id&gt;@datagen.paymybuddy).
+ * Les latences ne sont enregistrées qu'après l'échauffement.
+ */
+public class LoadTestDriver {
+
+    public static final String LOGIN = "login";
+    public static final String FRIENDS = "friends";
+    public static final String TRANSACTION_FORM = "transaction-form";
+    public static final String CREATE_TRANSACTION = "create-transaction";
+    public static final String API_TRANSACTIONS = "api-transactions";
+
+    private static final Pattern FRIEND_OPTION = Pattern.compile("<option value=\"(\\d+)\"");
+    private static final Pattern SESSION_COOKIE = Pattern.compile("(JSESSIONID=[^;]+)");
+
+    public record Settings(URI baseUrl, int clients, Duration warmup, Duration duration,
+                           int firstUserId, int userCount, String password, Duration thinkTime, int reloginEvery) {
+        public Settings {
+            if (clients < 1 || userCount < 1) {
+                throw new IllegalArgumentException("Il faut au moins un client et un compte.");
+            }
+            if (reloginEvery < 1) {
+                throw new IllegalArgumentException("Il faut au moins un parcours entre deux connexions.");
+            }
+            if (duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException("La durée de mesure doit être positive.");
+            }
+        }
+    }
+
+    private final Settings settings;
+    private final HttpClient http;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    public LoadTestDriver(Settings settings) {
+        this.settings = settings;
+        // Un seul client HTTP (pool de connexions partagé) ; chaque session garde son propre cookie
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (String endpoint : List.of(LOGIN, FRIENDS, TRANSACTION_FORM, CREATE_TRANSACTION, API_TRANSACTIONS)) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public LoadTestReport run() {
+        long recordFrom = System.nanoTime() + settings.warmup().toNanos();
+        long stopAt = recordFrom + settings.duration().toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < settings.clients(); client++) {
+                int userId = settings.firstUserId() + client % settings.userCount();
+                clients.submit(() -> new Session(userId, recordFrom).run(stopAt));
+            }
+        }
+        return new LoadTestReport(List.copyOf(stats.values()), settings.duration());
+    }
+
+    private final class Session {
+        private final int userId;
+        private final long recordFrom;
+        private String cookie;
+        // Dernière réponse reçue : sa latence n'entre dans l'histogramme qu'une fois la réponse validée
+        private long sentAt;
+        private long latency;
+
+        Session(int userId, long recordFrom) {
+            this.userId = userId;
+            this.recordFrom = recordFrom;
+        }
+
+        void run(long stopAt) {
+            // Une session perdue (login refusé, redirection vers /login) est rouverte au tour suivant.
+            // La reconnexion périodique mesure aussi le login après la chauffe, et pas seulement au démarrage
+            int rounds = 0;
+            while (System.nanoTime() < stopAt && !Thread.currentThread().isInterrupted()) {
+                if ((cookie == null || rounds % settings.reloginEvery() == 0) && !login()) {
+                    pause(Duration.ofSeconds(1));
+                    continue;
+                }
+                rounds++;
+                boolean ok = get(FRIENDS, "/friends") != null;
+                String page = ok ? get(TRANSACTION_FORM, "/transactions/new") : null;
+                List<String> friends = page != null ? friendIds(page) : List.of();
+                if (!friends.isEmpty()) {
+                    String receiverId = friends.get(ThreadLocalRandom.current().nextInt(friends.size()));
+                    ok = post(CREATE_TRANSACTION, "/transactions", form("receiverId", receiverId,
+                            "amount", "1.00", "description", "Test de charge"));
+                }
+                if (ok && page != null) {
+                    get(API_TRANSACTIONS, "/api/transactions?senderId=" + userId + "&size=20");
+                }
+                pause(settings.thinkTime());
+            }
+        }
+
+        private boolean login() {
+            String body = form("username", "user" + userId + "@datagen.paymybuddy", "password", settings.password());
+            HttpResponse<String> response = send(LOGIN, request("/login").header("Content-Type",
+                    "application/x-www-form-urlencoded").POST(HttpRequest.BodyPublishers.ofString(body)).build());
+            if (response == null) {
+                return false;
+            }
+            // Succès : redirection vers / avec le nouveau cookie de session (changé au login)
+            String location = response.headers().firstValue("Location").orElse("");
+            Matcher session = SESSION_COOKIE.matcher(String.join(";", response.headers().allValues("Set-Cookie")));
+            if (response.statusCode() != 302 || location.contains("error") || !session.find()) {
+                error(LOGIN);
+                return false;
+            }
+            cookie = session.group(1);
+            measured(LOGIN);
+            return true;
+        }
+
+        private String get(String endpoint, String path) {
+            HttpResponse<String> response = send(endpoint, request(path).GET().build());
+            return response != null && check(endpoint, response, 200) ? response.body() : null;
+        }
+
+        private boolean post(String endpoint, String path, String body) {
+            HttpResponse<String> response = send(endpoint, request(path)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build());
+            // Succès : redirection vers /transactions ; un formulaire réaffiché signale un refus
+            return response != null && check(endpoint, response, 302);
+        }
+
+        private boolean check(String endpoint, HttpResponse<String> response, int expected) {
+            if (response.statusCode() == expected && !response.headers().firstValue("Location")
+                    .map(location -> location.contains("/login")).orElse(false)) {
+                measured(endpoint);
+                return true;
+            }
+            // Erreur comptée à part ; sur une redirection vers /login, la session est à refaire
+            error(endpoint);
+            if (response.statusCode() == 302) {
+                cookie = null;
+            }
+            return false;
+        }
+
+        private void measured(String endpoint) {
+            if (sentAt >= recordFrom) {
+                stats.get(endpoint).record(latency);
+            }
+        }
+
+        private void error(String endpoint) {
+            if (System.nanoTime() >= recordFrom) {
+                stats.get(endpoint).error();
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(settings.baseUrl().resolve(path))
+                    .timeout(Duration.ofSeconds(30));
+            if (cookie != null) {
+                builder.header("Cookie", cookie);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                latency = System.nanoTime() - start;
+                sentAt = start;
+                return response;
+            } catch (IOException e) {
+                error(endpoint);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    static List<String> friendIds(String html) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = FRIEND_OPTION.matcher(html);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static String form(String... pairs) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            body.append(i == 0 ? "" : "&").append(pairs[i]).append('=')
+                    .append(URLEncoder.encode(pairs[i + 1], StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
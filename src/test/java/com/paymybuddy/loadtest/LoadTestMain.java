@@ -0,0 +1,90 @@
+package com.paymybuddy.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test de charge contre une application déjà démarrée et peuplée par le générateur de données :
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="clé=valeur ...". Code de sortie 1 si un
+ * budget est dépassé, pour bloquer une livraison.
+ */
+public final class LoadTestMain {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "base-url", "http://localhost:8080",
+            "clients", "100",
+            "warmup", "10",
+            "duration", "60",
+            "password", "password",
+            "think-ms", "0",
+            "relogin-every", "20",
+            "max-error-rate", "0",
+            "report-dir", "target/loadtest");
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        // Pas de valeur par défaut : les ids générés suivent les compteurs de id_sequences (MAX(id) + 50 sur MySQL)
+        if (!options.containsKey("first-user-id")) {
+            throw new IllegalArgumentException("Option first-user-id obligatoire, voir : SELECT MIN(id) FROM users "
+                    + "WHERE email LIKE '%@datagen.paymybuddy'");
+        }
+        int clients = Integer.parseInt(options.get("clients"));
+        LoadTestDriver.Settings settings = new LoadTestDriver.Settings(
+                URI.create(options.get("base-url")),
+                clients,
+                Duration.ofSeconds(Long.parseLong(options.get("warmup"))),
+                Duration.ofSeconds(Long.parseLong(options.get("duration"))),
+                Integer.parseInt(options.get("first-user-id")),
+                Integer.parseInt(options.getOrDefault("user-count", String.valueOf(clients))),
+                options.get("password"),
+                Duration.ofMillis(Long.parseLong(options.get("think-ms"))),
+                Integer.parseInt(options.get("relogin-every")));
+
+        LoadTestReport report = new LoadTestDriver(settings).run();
+        report.print(System.out);
+        Path reportDir = Path.of(options.get("report-dir"));
+        report.writeHistograms(reportDir);
+        System.out.println("Distributions HDR : " + reportDir.toAbsolutePath());
+
+        List<String> violations = report.violations(budgets(options.get("budget")),
+                Double.parseDouble(options.get("max-error-rate")));
+        violations.forEach(violation -> System.out.println("Budget dépassé - " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    // Arguments de la forme clé=valeur ; budget=friends.p99=150,login.p999=1200 (ms)
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Argument attendu de la forme clé=valeur : " + arg);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    static Map<String, Double> budgets(String spec) {
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return budgets;
+        }
+        for (String entry : spec.split(",")) {
+            int equals = entry.lastIndexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Budget attendu de la forme endpoint.p99=ms : " + entry);
+            }
+            budgets.put(entry.substring(0, equals).trim(), Double.parseDouble(entry.substring(equals + 1)));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,94 @@
+package com.paymybuddy.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Résultat d'un test de charge : tableau par endpoint (débit, p50/p99/p99.9, max, erreurs),
+ * distributions HDR complètes (.hgrm, en ms) et vérification des budgets de latence.
+ */
+public class LoadTestReport {
+
+    private final List<EndpointStats> endpoints;
+    private final Duration duration;
+
+    LoadTestReport(List<EndpointStats> endpoints, Duration duration) {
+        this.endpoints = endpoints;
+        this.duration = duration;
+    }
+
+    public List<EndpointStats> endpoints() {
+        return endpoints;
+    }
+
+    public double throughput(EndpointStats endpoint) {
+        return endpoint.requests() / (duration.toMillis() / 1000.0);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-20s %10s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "requêtes", "erreurs");
+        for (EndpointStats endpoint : endpoints) {
+            out.printf(Locale.ROOT, "%-20s %10.1f %10.2f %10.2f %10.2f %10.2f %10d %8d%n",
+                    endpoint.name(), throughput(endpoint), endpoint.percentileMillis(50), endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9), endpoint.histogram().getMaxValue() / 1000.0,
+                    endpoint.requests(), endpoint.errors());
+        }
+    }
+
+    // Un fichier <endpoint>.hgrm par endpoint, lisible par le HdrHistogram plotter
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (EndpointStats endpoint : endpoints) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.name() + ".hgrm")))) {
+                endpoint.histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // Budgets de la forme friends.p99 -> 150 (ms) ; renvoie les dépassements, vide si tout passe
+    public List<String> violations(Map<String, Double> budgets, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats endpoint : endpoints) {
+            if (endpoint.requests() == 0) {
+                violations.add(endpoint.name() + " : aucune requête mesurée");
+            } else if ((double) endpoint.errors() / endpoint.requests() > maxErrorRate) {
+                violations.add(String.format(Locale.ROOT, "%s : %d erreurs sur %d requêtes",
+                        endpoint.name(), endpoint.errors(), endpoint.requests()));
+            }
+        }
+        budgets.forEach((key, budgetMillis) -> {
+            int dot = key.lastIndexOf('.');
+            EndpointStats endpoint = dot > 0 ? find(key.substring(0, dot)) : null;
+            if (endpoint == null) {
+                throw new IllegalArgumentException("Budget sur un endpoint inconnu : " + key);
+            }
+            double percentile = percentile(key.substring(dot + 1));
+            double measured = endpoint.percentileMillis(percentile);
+            if (measured > budgetMillis) {
+                violations.add(String.format(Locale.ROOT, "%s : %.2f ms, budget %.2f ms", key, measured, budgetMillis));
+            }
+        });
+        return violations;
+    }
+
+    private EndpointStats find(String name) {
+        return endpoints.stream().filter(endpoint -> endpoint.name().equals(name)).findFirst().orElse(null);
+    }
+
+    // p50 -> 50, p99 -> 99, p999 -> 99.9, p9999 -> 99.99
+    static double percentile(String name) {
+        if (!name.matches("p\\d{2,}")) {
+            throw new IllegalArgumentException("Percentile attendu de la forme p99 ou p999 : " + name);
+        }
+        String digits = name.substring(1);
+        return Double.parseDouble(digits.length() == 2 ? digits : digits.substring(0, 2) + "." + digits.substring(2));
+    }
+}
@@ -0,0 +1,67 @@
+package com.paymybuddy.loadtest;
+
+import com.paymybuddy.service.SyntheticDataGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scénario de charge complet (login, amis, formulaire, paiement, API) contre l'application
+ * démarrée sur un port aléatoire et peuplée par le générateur de données.
+ * Lancé uniquement avec le profil Maven benchmarks : mvn -Pbenchmarks test
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.autoconfigure.exclude=",
+        // Attente de verrou alignée sur InnoDB (innodb_lock_wait_timeout) plutôt que la seconde par défaut de H2
+        "spring.datasource.url=jdbc:h2:mem:loadtest;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class WebFlowLoadTest {
+
+    private static final int USERS = 50;
+    private static final int CLIENTS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runWebFlowScenario() throws Exception {
+        generator.generate(new SyntheticDataGenerator.Plan(USERS, 5, 20, 2.5, 2_000, 1.1, 3, 500, 42L, "password"));
+        int firstUserId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE email LIKE '%@datagen.paymybuddy'", Integer.class);
+
+        LoadTestReport report = new LoadTestDriver(new LoadTestDriver.Settings(
+                URI.create("http://localhost:" + port), CLIENTS, Duration.ofSeconds(2), Duration.ofSeconds(10),
+                firstUserId, USERS, "password", Duration.ZERO, 5)).run();
+        report.print(System.out);
+
+        // Budgets larges : on vérifie que le scénario tourne, pas les performances de la machine de CI.
+        // Quelques échecs de verrou H2 sur accounts sont tolérés
+        List<String> violations = report.violations(Map.of(
+                LoadTestDriver.LOGIN + ".p99", 5_000.0,
+                LoadTestDriver.FRIENDS + ".p99", 5_000.0,
+                LoadTestDriver.TRANSACTION_FORM + ".p99", 5_000.0,
+                LoadTestDriver.CREATE_TRANSACTION + ".p99", 5_000.0,
+                LoadTestDriver.API_TRANSACTIONS + ".p99", 5_000.0), 0.05);
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+}
@@ -0,0 +1,66 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.model.Account;
+import com.paymybuddy.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration pour AccountRepository
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class AccountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persistAndFlush(new User(null, "account@example.com", "account", "password"));
+    }
+
+    /**
+     * Test de création d'un compte avec l'id de l'utilisateur
+     */
+    @Test
+    void testSaveAccount() {
+        accountRepository.saveAndFlush(new Account(user.getId(), BigDecimal.ZERO));
+        entityManager.clear();
+
+        Optional<Account> found = accountRepository.findById(user.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals(0, BigDecimal.ZERO.compareTo(found.get().getBalance()));
+        assertFalse(found.get().isNew());
+    }
+
+    /**
+     * Test de lecture verrouillée d'un compte
+     */
+    @Test
+    void testFindByIdForUpdate() {
+        accountRepository.saveAndFlush(new Account(user.getId(), BigDecimal.TEN));
+        entityManager.clear();
+
+        Optional<Account> locked = accountRepository.findByIdForUpdate(user.getId());
+
+        assertTrue(locked.isPresent());
+        assertEquals(0, BigDecimal.TEN.compareTo(locked.get().getBalance()));
+        assertTrue(accountRepository.findByIdForUpdate(999).isEmpty());
+    }
+}
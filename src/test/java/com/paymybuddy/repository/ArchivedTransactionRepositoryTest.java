@@ -0,0 +1,129 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.dto.AmountTotal;
+import com.paymybuddy.dto.TransactionView;
+import com.paymybuddy.model.ArchivedTransaction;
+import com.paymybuddy.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration pour ArchivedTransactionRepository
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ArchivedTransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = entityManager.persistAndFlush(new User(null, "alice@example.com", "alice", "password"));
+        bob = entityManager.persistAndFlush(new User(null, "bob@example.com", "bob", "password"));
+        entityManager.persist(new ArchivedTransaction(1, alice.getId(), bob.getId(), new BigDecimal("5.00"), "a",
+                Instant.parse("2024-01-10T00:00:00Z")));
+        entityManager.persist(new ArchivedTransaction(2, alice.getId(), bob.getId(), new BigDecimal("7.00"), "b",
+                Instant.parse("2024-02-10T00:00:00Z")));
+        entityManager.persist(new ArchivedTransaction(3, bob.getId(), alice.getId(), new BigDecimal("1.00"), "c",
+                Instant.parse("2024-02-11T00:00:00Z")));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Test de la pagination par curseur dans l'archive
+     */
+    @Test
+    void testFindBySenderIdWithCursor() {
+        List<ArchivedTransaction> page = archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(
+                alice.getId(), Integer.MAX_VALUE, Limit.of(1));
+        List<ArchivedTransaction> next = archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(
+                alice.getId(), 2, Limit.of(10));
+
+        assertEquals(List.of(2), page.stream().map(ArchivedTransaction::getId).toList());
+        assertEquals(List.of(1), next.stream().map(ArchivedTransaction::getId).toList());
+    }
+
+    /**
+     * Test de la projection de l'historique archivé avec les noms des utilisateurs
+     */
+    @Test
+    void testFindViewsBySenderIdInPeriod() {
+        List<TransactionView> views = archivedTransactionRepository.findViewsBySenderIdInPeriod(alice.getId(),
+                Instant.parse("2024-02-01T00:00:00Z"), Instant.parse("2024-03-01T00:00:00Z"),
+                Integer.MAX_VALUE, Limit.of(10));
+
+        assertEquals(1, views.size());
+        assertEquals("alice", views.get(0).senderUsername());
+        assertEquals("bob", views.get(0).receiverUsername());
+        assertEquals(Instant.parse("2024-02-10T00:00:00Z"), views.get(0).createdAt());
+    }
+
+    /**
+     * Test des totaux d'un relevé dans l'archive
+     */
+    @Test
+    void testSumInPeriod() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-03-01T00:00:00Z");
+
+        AmountTotal sent = archivedTransactionRepository.sumSentInPeriod(alice.getId(), from, to);
+        AmountTotal received = archivedTransactionRepository.sumReceivedInPeriod(alice.getId(), from, to);
+
+        assertEquals(0, new BigDecimal("12.00").compareTo(sent.total()));
+        assertEquals(2, sent.count());
+        assertEquals(0, BigDecimal.ONE.compareTo(received.total()));
+        assertEquals(1, received.count());
+    }
+
+    /**
+     * Test de l'export de l'archive dans l'ordre des ids
+     */
+    @Test
+    void testStreamAllViews() {
+        try (Stream<TransactionView> views = archivedTransactionRepository.streamAllViews()) {
+            assertEquals(List.of(1, 2, 3), views.map(TransactionView::id).toList());
+        }
+    }
+
+    /**
+     * Test de la fenêtre entre copie et DROP PARTITION : une ligne encore chaude n'est comptée qu'une fois
+     */
+    @Test
+    void testRowsStillHotAreExcludedFromTotalsAndExport() {
+        entityManager.getEntityManager().createNativeQuery("INSERT INTO transactions "
+                        + "(id, sender_id, receiver_id, amount, description, created_at) VALUES (2, ?, ?, 7.00, 'b', ?)")
+                .setParameter(1, alice.getId())
+                .setParameter(2, bob.getId())
+                .setParameter(3, Instant.parse("2024-02-10T00:00:00Z"))
+                .executeUpdate();
+
+        AmountTotal sent = archivedTransactionRepository.sumSentInPeriod(alice.getId(),
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-03-01T00:00:00Z"));
+
+        assertEquals(0, new BigDecimal("5.00").compareTo(sent.total()));
+        assertEquals(1, sent.count());
+        try (Stream<TransactionView> views = archivedTransactionRepository.streamAllViews()) {
+            assertEquals(List.of(1, 3), views.map(TransactionView::id).toList());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserConnection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration du cache de second niveau et du cache de requêtes (User, UserConnection).
+ * Chaque appel de repository est validé : le cache n'est alimenté qu'après commit.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserConnectionRepository userConnectionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(new User(null, "alice.cache@example.com", "alice", "password"));
+        bob = userRepository.save(new User(null, "bob.cache@example.com", "bob", "password"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userConnectionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Test de lecture d'un utilisateur servie par la région « users »
+     */
+    @Test
+    void testUserIsReadFromSecondLevelCache() {
+        userRepository.findById(alice.getId());
+        userRepository.findById(alice.getId());
+
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() >= 1);
+        assertTrue(statistics.getPrepareStatementCount() <= 1);
+    }
+
+    /**
+     * Test du cache de requêtes sur la recherche par e-mail
+     */
+    @Test
+    void testFindByEmailUsesQueryCache() {
+        userRepository.findByEmail("bob.cache@example.com");
+        userRepository.findByEmail("bob.cache@example.com");
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Test de la liste d'amis : requête et entités servies par le cache au second appel
+     */
+    @Test
+    void testFriendListIsCached() {
+        userConnectionRepository.save(new UserConnection(alice, bob));
+        userConnectionRepository.findByUser(alice);
+        statistics.clear();
+
+        assertEquals(1, userConnectionRepository.findByUser(alice).size());
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test de la liste d'amis servie par le cache : les deux côtés du lien restent lisibles hors session
+     */
+    @Test
+    void testCachedFriendListIsFullyInitialized() {
+        userConnectionRepository.save(new UserConnection(alice, bob));
+        userConnectionRepository.findByUser(alice);
+
+        for (int call = 0; call < 2; call++) {
+            UserConnection connection = userConnectionRepository.findByUser(alice).get(0);
+
+            assertEquals("alice", connection.getUser().getUsername());
+            assertEquals("bob", connection.getConnection().getUsername());
+        }
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+    }
+
+    /**
+     * Test de l'invalidation du cache de requêtes après une écriture sur la table
+     */
+    @Test
+    void testQueryCacheIsInvalidatedByWrites() {
+        userConnectionRepository.findByUser(alice);
+        userConnectionRepository.save(new UserConnection(alice, bob));
+        statistics.clear();
+
+        assertEquals(1, userConnectionRepository.findByUser(alice).size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+}
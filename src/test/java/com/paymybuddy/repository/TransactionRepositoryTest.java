@@ -1,5 +1,7 @@
 package com.paymybuddy.repository;
 
+import com.paymybuddy.dto.AmountTotal;
+import com.paymybuddy.dto.TransactionView;
 import com.paymybuddy.model.Transaction;
 import com.paymybuddy.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,11 +9,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -193,4 +198,126 @@ class TransactionRepositoryTest {
 
         assertEquals(BigDecimal.valueOf(0.0), savedTransaction.getAmount());
     }
+
+    /**
+     * Test de la pagination par curseur : ordre décroissant et reprise après le curseur
+     */
+    @Test
+    void testFindBySenderIdWithCursor() {
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persistAndFlush(new Transaction(null, sender, receiver, BigDecimal.valueOf(i), "t" + i));
+        }
+
+        List<Transaction> firstPage = transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(
+                sender.getId(), Integer.MAX_VALUE, Limit.of(2));
+        assertEquals(2, firstPage.size());
+        assertTrue(firstPage.get(0).getId() > firstPage.get(1).getId());
+
+        List<Transaction> secondPage = transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(
+                sender.getId(), firstPage.get(1).getId(), Limit.of(10));
+        assertEquals(3, secondPage.size());
+        assertTrue(secondPage.stream().allMatch(t -> t.getId() < firstPage.get(1).getId()));
+        assertTrue(transactionRepository.findByReceiverIdAndIdLessThanOrderByIdDesc(
+                sender.getId(), Integer.MAX_VALUE, Limit.of(10)).isEmpty());
+    }
+
+    /**
+     * Test de la projection de l'historique : nom du destinataire sans charger les entités
+     */
+    @Test
+    void testFindViewsBySenderId() {
+        Transaction saved = entityManager.persistAndFlush(testTransaction);
+        entityManager.clear();
+
+        List<TransactionView> views = transactionRepository.findViewsBySenderId(
+                sender.getId(), Integer.MAX_VALUE, Limit.of(10));
+
+        assertEquals(1, views.size());
+        assertEquals(saved.getId(), views.get(0).id());
+        assertEquals("sender", views.get(0).senderUsername());
+        assertEquals("receiver", views.get(0).receiverUsername());
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo(views.get(0).amount()));
+        assertEquals("Test transaction", views.get(0).description());
+        assertTrue(transactionRepository.findViewsBySenderId(
+                sender.getId(), saved.getId(), Limit.of(10)).isEmpty());
+    }
+
+    /**
+     * Test de l'export en flux : toutes les transactions, dans l'ordre des ids
+     */
+    @Test
+    void testStreamAllViews() {
+        Transaction first = entityManager.persistAndFlush(testTransaction);
+        Transaction second = entityManager.persistAndFlush(new Transaction(null, receiver, sender, BigDecimal.ONE, "retour"));
+        entityManager.clear();
+
+        try (Stream<TransactionView> views = transactionRepository.streamAllViews()) {
+            List<TransactionView> all = views.toList();
+            assertEquals(List.of(first.getId(), second.getId()), all.stream().map(TransactionView::id).toList());
+            assertEquals("receiver", all.get(1).senderUsername());
+            assertEquals("sender", all.get(1).receiverUsername());
+        }
+    }
+
+    private Transaction persistAt(User from, User to, String amount, String createdAt) {
+        Transaction transaction = new Transaction(null, from, to, new BigDecimal(amount), null);
+        transaction.setCreatedAt(Instant.parse(createdAt));
+        return entityManager.persistAndFlush(transaction);
+    }
+
+    /**
+     * Test de la date de création renseignée à l'insertion si elle est absente
+     */
+    @Test
+    void testCreatedAtIsSetOnPersist() {
+        Transaction saved = entityManager.persistAndFlush(testTransaction);
+
+        assertNotNull(saved.getCreatedAt());
+    }
+
+    /**
+     * Test de l'historique sur une période : bornes [from, to[ et curseur
+     */
+    @Test
+    void testFindBySenderIdInPeriod() {
+        persistAt(sender, receiver, "1.00", "2024-12-31T23:59:59Z");
+        Transaction january = persistAt(sender, receiver, "2.00", "2025-01-10T00:00:00Z");
+        Transaction lateJanuary = persistAt(sender, receiver, "3.00", "2025-01-20T00:00:00Z");
+        persistAt(sender, receiver, "4.00", "2025-02-01T00:00:00Z");
+        persistAt(receiver, sender, "5.00", "2025-01-15T00:00:00Z");
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-02-01T00:00:00Z");
+
+        List<Transaction> page = transactionRepository.findBySenderIdInPeriod(
+                sender.getId(), from, to, Integer.MAX_VALUE, Limit.of(10));
+        List<Transaction> older = transactionRepository.findBySenderIdInPeriod(
+                sender.getId(), from, to, lateJanuary.getId(), Limit.of(10));
+
+        assertEquals(List.of(lateJanuary.getId(), january.getId()), page.stream().map(Transaction::getId).toList());
+        assertEquals(List.of(january.getId()), older.stream().map(Transaction::getId).toList());
+        assertEquals(1, transactionRepository.findByReceiverIdInPeriod(
+                sender.getId(), from, to, Integer.MAX_VALUE, Limit.of(10)).size());
+        assertEquals(2, transactionRepository.findViewsBySenderIdInPeriod(
+                sender.getId(), from, to, Integer.MAX_VALUE, Limit.of(10)).size());
+    }
+
+    /**
+     * Test des totaux d'un relevé, y compris sur une période vide
+     */
+    @Test
+    void testSumInPeriod() {
+        persistAt(sender, receiver, "2.00", "2025-01-10T00:00:00Z");
+        persistAt(sender, receiver, "3.50", "2025-01-20T00:00:00Z");
+        persistAt(sender, receiver, "9.00", "2025-03-01T00:00:00Z");
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-02-01T00:00:00Z");
+
+        AmountTotal sent = transactionRepository.sumSentInPeriod(sender.getId(), from, to);
+        AmountTotal received = transactionRepository.sumReceivedInPeriod(sender.getId(), from, to);
+
+        assertEquals(0, new BigDecimal("5.50").compareTo(sent.total()));
+        assertEquals(2, sent.count());
+        assertEquals(BigDecimal.ZERO, received.total());
+        assertEquals(0, received.count());
+    }
 }
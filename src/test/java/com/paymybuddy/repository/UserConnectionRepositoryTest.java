@@ -1,5 +1,6 @@
 package com.paymybuddy.repository;
 
+import com.paymybuddy.dto.FriendEdge;
 import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserConnection;
 import com.paymybuddy.model.UserConnectionId;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -199,4 +201,35 @@ class UserConnectionRepositoryTest {
         assertEquals(1, user1Connections.size());
         assertEquals(1, user2Connections.size());
     }
+
+    /**
+     * Test de lecture des arêtes par blocs, dans l'ordre de la clé primaire
+     */
+    @Test
+    void testFindEdgesAfter() {
+        entityManager.persist(userConnection);
+        entityManager.persist(new UserConnection(user1, user3));
+        entityManager.persist(new UserConnection(user2, user1));
+        entityManager.flush();
+
+        List<FriendEdge> first = userConnectionRepository.findEdgesAfter(0, 0, Limit.of(2));
+        FriendEdge last = first.get(1);
+        List<FriendEdge> rest = userConnectionRepository.findEdgesAfter(last.userId(), last.connectionId(), Limit.of(2));
+
+        assertEquals(List.of(new FriendEdge(user1.getId(), user2.getId()), new FriendEdge(user1.getId(), user3.getId())),
+                first);
+        assertEquals(List.of(new FriendEdge(user2.getId(), user1.getId())), rest);
+    }
+
+    /**
+     * Test de la sonde d'existence sur la clé primaire
+     */
+    @Test
+    void testExistsByUserIdAndConnectionId() {
+        entityManager.persistAndFlush(userConnection);
+
+        assertTrue(userConnectionRepository.existsByUserIdAndConnectionId(user1.getId(), user2.getId()));
+        assertFalse(userConnectionRepository.existsByUserIdAndConnectionId(user2.getId(), user1.getId()));
+        assertFalse(userConnectionRepository.existsByUserIdAndConnectionId(user1.getId(), user3.getId()));
+    }
 }
@@ -0,0 +1,97 @@
+package com.paymybuddy.repository;
+
+import com.paymybuddy.dto.TransactionSummary;
+import com.paymybuddy.model.ArchivedTransaction;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserTransactionSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration pour UserTransactionSummaryRepository
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class UserTransactionSummaryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserTransactionSummaryRepository summaryRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = entityManager.persistAndFlush(new User(null, "alice@example.com", "alice", "password"));
+        bob = entityManager.persistAndFlush(new User(null, "bob@example.com", "bob", "password"));
+    }
+
+    /**
+     * Test de la somme des lignes de synthèse d'un utilisateur
+     */
+    @Test
+    void testFindSummaryByUserIdSumsSlots() {
+        UserTransactionSummary main = new UserTransactionSummary(bob.getId(), 0);
+        main.recordSent(new BigDecimal("4.00"));
+        main.recordReceived(new BigDecimal("1.00"));
+        UserTransactionSummary stripe = new UserTransactionSummary(bob.getId(), 3);
+        stripe.recordReceived(new BigDecimal("2.50"));
+        summaryRepository.saveAllAndFlush(List.of(main, stripe));
+        entityManager.clear();
+
+        Optional<TransactionSummary> summary = summaryRepository.findSummaryByUserId(bob.getId());
+
+        assertTrue(summary.isPresent());
+        assertEquals(0, new BigDecimal("4.00").compareTo(summary.get().totalSent()));
+        assertEquals(1, summary.get().sentCount());
+        assertEquals(0, new BigDecimal("3.50").compareTo(summary.get().totalReceived()));
+        assertEquals(2, summary.get().receivedCount());
+        assertTrue(summaryRepository.findSummaryByUserId(alice.getId()).isEmpty());
+    }
+
+    /**
+     * Test du recalcul d'une tranche à partir des transactions, archivées comprises
+     */
+    @Test
+    void testRebuildRange() {
+        entityManager.persist(new Transaction(null, alice, bob, new BigDecimal("10.00"), "a"));
+        entityManager.persist(new Transaction(null, alice, bob, new BigDecimal("5.00"), "b"));
+        entityManager.persist(new Transaction(null, bob, alice, new BigDecimal("1.00"), "c"));
+        entityManager.persist(new ArchivedTransaction(-1, alice.getId(), bob.getId(), new BigDecimal("20.00"), "old",
+                Instant.parse("2023-05-01T00:00:00Z")));
+        UserTransactionSummary stale = new UserTransactionSummary(alice.getId(), 2);
+        stale.recordSent(new BigDecimal("99.00"));
+        entityManager.persist(stale);
+        entityManager.flush();
+
+        int minId = Math.min(alice.getId(), bob.getId());
+        int maxId = Math.max(alice.getId(), bob.getId());
+        summaryRepository.deleteByUserIdBetween(minId, maxId);
+        int rows = summaryRepository.rebuildRange(minId, maxId);
+        entityManager.clear();
+
+        assertEquals(2, rows);
+        TransactionSummary aliceSummary = summaryRepository.findSummaryByUserId(alice.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("35.00").compareTo(aliceSummary.totalSent()));
+        assertEquals(3, aliceSummary.sentCount());
+        assertEquals(0, BigDecimal.ONE.compareTo(aliceSummary.totalReceived()));
+        TransactionSummary bobSummary = summaryRepository.findSummaryByUserId(bob.getId()).orElseThrow();
+        assertEquals(3, bobSummary.receivedCount());
+        assertEquals(1, bobSummary.sentCount());
+    }
+}
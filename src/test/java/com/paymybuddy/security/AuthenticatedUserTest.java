@@ -0,0 +1,52 @@
+package com.paymybuddy.security;
+
+import com.paymybuddy.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour AuthenticatedUser
+ */
+class AuthenticatedUserTest {
+
+    /**
+     * Test des informations exposées à Spring Security
+     */
+    @Test
+    void testUserDetails() {
+        AuthenticatedUser principal = new AuthenticatedUser(1, "test@example.com", "testuser", "hash");
+
+        assertEquals("test@example.com", principal.getUsername());
+        assertEquals("hash", principal.getPassword());
+        assertEquals("testuser", principal.getDisplayName());
+        assertTrue(principal.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_USER")));
+        assertTrue(principal.isEnabled());
+    }
+
+    /**
+     * Test de l'effacement du mot de passe après authentification
+     */
+    @Test
+    void testEraseCredentials() {
+        AuthenticatedUser principal = new AuthenticatedUser(1, "test@example.com", "testuser", "hash");
+
+        principal.eraseCredentials();
+
+        assertNull(principal.getPassword());
+    }
+
+    /**
+     * Test de la conversion en utilisateur détaché sans mot de passe
+     */
+    @Test
+    void testToUser() {
+        User user = new AuthenticatedUser(1, "test@example.com", "testuser", "hash").toUser();
+
+        assertEquals(1, user.getId());
+        assertEquals("test@example.com", user.getEmail());
+        assertEquals("testuser", user.getUsername());
+        assertNull(user.getPassword());
+    }
+}
@@ -0,0 +1,83 @@
+package com.paymybuddy.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CryptoExecutor et BoundedPasswordEncoder
+ */
+class CryptoExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CryptoExecutor cryptoExecutor;
+
+    @AfterEach
+    void tearDown() {
+        cryptoExecutor.shutdown();
+    }
+
+    /**
+     * Test du hachage et de la vérification d'un mot de passe sur le pool
+     */
+    @Test
+    void testEncodeAndMatchRunOnPool() {
+        cryptoExecutor = new CryptoExecutor(2, 4, registry);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(cryptoExecutor);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("autre", hash));
+        assertEquals(2, cryptoExecutor.threads());
+        assertEquals(3, registry.get("executor").tag("name", "crypto").timer().count());
+    }
+
+    /**
+     * Test du rejet immédiat quand le pool et sa file sont pleins
+     */
+    @Test
+    void testRejectsWhenSaturated() throws Exception {
+        cryptoExecutor = new CryptoExecutor(1, 1, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> cryptoExecutor.call(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> cryptoExecutor.call(() -> "ok"));
+        while (registry.get("executor.queued").tag("name", "crypto").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> cryptoExecutor.call(() -> "refusé"));
+        assertEquals(1, registry.get("paymybuddy.crypto.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test de la propagation de l'exception levée par la tâche
+     */
+    @Test
+    void testTaskExceptionIsRethrown() {
+        cryptoExecutor = new CryptoExecutor(1, 1, registry);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> cryptoExecutor.call(() -> {
+                    throw new IllegalArgumentException("Mot de passe invalide.");
+                }));
+        assertEquals("Mot de passe invalide.", e.getMessage());
+    }
+}
@@ -0,0 +1,122 @@
+package com.paymybuddy.security;
+
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests du login avec un pool crypto d'un thread et d'une place en file : une fois saturé,
+ * POST /login répond 503 au lieu d'une erreur 500 ou d'une redirection vers l'échec de connexion
+ */
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:saturatedlogin",
+        "spring.jpa.show-sql=false",
+        "paymybuddy.crypto.threads=1",
+        "paymybuddy.crypto.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SaturatedLoginTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CryptoExecutor cryptoExecutor;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CountDownLatch release;
+    private CompletableFuture<Boolean> running;
+    private CompletableFuture<String> queued;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmail("alice@example.com").isEmpty()) {
+            userRepository.save(new User(null, "alice@example.com", "alice", passwordEncoder.encode("secret")));
+        }
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        if (running != null) {
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Test du login sans saturation : la vérification du mot de passe passe bien par le pool
+     */
+    @Test
+    void testLoginSucceedsWhenPoolIsFree() throws Exception {
+        mockMvc.perform(post("/login").param("username", "alice@example.com").param("password", "secret"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+    }
+
+    /**
+     * Test du login d'un utilisateur existant avec le thread occupé et la file pleine : 503
+     */
+    @Test
+    void testLoginReturns503WhenPoolIsSaturated() throws Exception {
+        saturate();
+
+        mockMvc.perform(post("/login").param("username", "alice@example.com").param("password", "secret"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    /**
+     * Test du login d'un email inconnu avec le pool saturé : 503 aussi, le hachage factice
+     * anti-énumération passant lui aussi par le pool
+     */
+    @Test
+    void testUnknownUserLoginReturns503WhenPoolIsSaturated() throws Exception {
+        saturate();
+
+        mockMvc.perform(post("/login").param("username", "inconnu@example.com").param("password", "secret"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    // Occupe l'unique thread du pool puis l'unique place de sa file
+    private void saturate() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        running = CompletableFuture.supplyAsync(() -> cryptoExecutor.call(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queued = CompletableFuture.supplyAsync(() -> cryptoExecutor.call(() -> "ok"));
+        while (meterRegistry.get("executor.queued").tag("name", "crypto").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.FriendEdge;
+import com.paymybuddy.repository.UserConnectionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour FriendGraphIndex avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class FriendGraphIndexTest {
+
+    @Mock
+    private UserConnectionRepository userConnectionRepository;
+
+    @InjectMocks
+    private FriendGraphIndex friendGraphIndex;
+
+    /**
+     * Test du chargement : les relations sont orientées (a a ajouté b)
+     */
+    @Test
+    void testWarmUp() {
+        when(userConnectionRepository.findEdgesAfter(0, 0, Limit.of(FriendGraphIndex.WARM_UP_CHUNK)))
+                .thenReturn(List.of(new FriendEdge(1, 2), new FriendEdge(2, 3)));
+
+        friendGraphIndex.warmUp();
+
+        assertTrue(friendGraphIndex.isWarm());
+        assertTrue(friendGraphIndex.isFriend(1, 2));
+        assertTrue(friendGraphIndex.isFriend(2, 3));
+        assertFalse(friendGraphIndex.isFriend(2, 1));
+        assertFalse(friendGraphIndex.isFriend(1, 3));
+    }
+
+    /**
+     * Test du chargement par blocs : le bloc suivant part de la dernière arête lue
+     */
+    @Test
+    void testWarmUpReadsAllChunks() {
+        List<FriendEdge> full = new ArrayList<>();
+        for (int i = 1; i <= FriendGraphIndex.WARM_UP_CHUNK; i++) {
+            full.add(new FriendEdge(1, i + 1));
+        }
+        when(userConnectionRepository.findEdgesAfter(0, 0, Limit.of(FriendGraphIndex.WARM_UP_CHUNK)))
+                .thenReturn(full);
+        when(userConnectionRepository.findEdgesAfter(1, FriendGraphIndex.WARM_UP_CHUNK + 1,
+                Limit.of(FriendGraphIndex.WARM_UP_CHUNK))).thenReturn(List.of(new FriendEdge(5000, 1)));
+
+        friendGraphIndex.warmUp();
+
+        assertTrue(friendGraphIndex.isFriend(1, FriendGraphIndex.WARM_UP_CHUNK + 1));
+        assertTrue(friendGraphIndex.isFriend(5000, 1));
+    }
+
+    /**
+     * Test des mises à jour, y compris pour un id au-delà de la taille initiale de la table
+     */
+    @Test
+    void testAddAndRemove() {
+        friendGraphIndex.add(1, 2);
+        friendGraphIndex.add(100_000, 1);
+
+        assertTrue(friendGraphIndex.isFriend(1, 2));
+        assertTrue(friendGraphIndex.isFriend(100_000, 1));
+
+        friendGraphIndex.remove(1, 2);
+        friendGraphIndex.remove(42, 1);
+
+        assertFalse(friendGraphIndex.isFriend(1, 2));
+        assertFalse(friendGraphIndex.isFriend(-1, 2));
+        assertFalse(friendGraphIndex.isFriend(Integer.MAX_VALUE, 2));
+    }
+
+    /**
+     * Test de la copie CSR : une ligne par id, y compris ceux qui n'apparaissent qu'en cible
+     */
+    @Test
+    void testToCsr() {
+        when(userConnectionRepository.findEdgesAfter(0, 0, Limit.of(FriendGraphIndex.WARM_UP_CHUNK)))
+                .thenReturn(List.of(new FriendEdge(1, 2), new FriendEdge(1, 3), new FriendEdge(2, 5000)));
+        friendGraphIndex.warmUp();
+
+        int[][] csr = friendGraphIndex.toCsr();
+        int[] offsets = csr[0];
+        int[] targets = csr[1];
+
+        assertEquals(5002, offsets.length);
+        assertEquals(3, targets.length);
+        assertEquals(List.of(2, 3), Arrays.stream(targets, offsets[1], offsets[2]).sorted().boxed().toList());
+        assertArrayEquals(new int[]{5000}, Arrays.copyOfRange(targets, offsets[2], offsets[3]));
+        assertEquals(offsets[5000], offsets[5001]);
+    }
+}
@@ -0,0 +1,162 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.FriendEdge;
+import com.paymybuddy.dto.FriendSuggestion;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.UserConnectionRepository;
+import com.paymybuddy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour FriendSuggestionService avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class FriendSuggestionServiceTest {
+
+    private static final Limit CHUNK = Limit.of(FriendGraphIndex.WARM_UP_CHUNK);
+
+    @Mock
+    private UserConnectionRepository userConnectionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private FriendGraphIndex friendGraphIndex;
+    private FriendSuggestionService service;
+
+    // 1 a ajouté 2 et 3 ; 2 a ajouté 1, 3, 4, 5 ; 3 a ajouté 1 et 4
+    private final List<FriendEdge> edges = List.of(
+            new FriendEdge(1, 2), new FriendEdge(1, 3),
+            new FriendEdge(2, 1), new FriendEdge(2, 3), new FriendEdge(2, 4), new FriendEdge(2, 5),
+            new FriendEdge(3, 1), new FriendEdge(3, 4));
+
+    @BeforeEach
+    void setUp() {
+        friendGraphIndex = new FriendGraphIndex(userConnectionRepository);
+        service = new FriendSuggestionService(userRepository, friendGraphIndex, 5, 100);
+    }
+
+    // L'instantané est copié de l'index, chargé une seule fois depuis la base
+    private void warmUp(List<FriendEdge> graph) {
+        when(userConnectionRepository.findEdgesAfter(0, 0, CHUNK)).thenReturn(graph);
+        friendGraphIndex.warmUp();
+    }
+
+    /**
+     * Test du classement : amis de mes amis, hors moi-même et hors amis déjà ajoutés
+     */
+    @Test
+    void testSuggestionsAreRankedByMutualFriends() {
+        warmUp(edges);
+        when(userRepository.findAllById(List.of(4, 5))).thenReturn(List.of(
+                new User(5, "e@example.com", "eve", null), new User(4, "d@example.com", "dan", null)));
+
+        List<FriendSuggestion> result = service.suggestionsFor(1);
+
+        assertEquals(List.of(new FriendSuggestion(4, "dan", "d@example.com", 2),
+                new FriendSuggestion(5, "eve", "e@example.com", 1)), result);
+    }
+
+    /**
+     * Test du cache : un deuxième appel ne recalcule rien
+     */
+    @Test
+    void testSuggestionsAreCached() {
+        warmUp(edges);
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+
+        service.suggestionsFor(1);
+        service.suggestionsFor(1);
+
+        verify(userConnectionRepository, times(1)).findEdgesAfter(0, 0, CHUNK);
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    /**
+     * Test de l'invalidation ciblée : l'utilisateur modifié et ceux qui l'ont ajouté
+     */
+    @Test
+    void testConnectionChangeInvalidatesFollowers() {
+        // 3 a aussi ajouté 6 : 2 a un candidat à résoudre
+        List<FriendEdge> graph = new ArrayList<>(edges);
+        graph.add(new FriendEdge(3, 6));
+        warmUp(graph);
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+        service.suggestionsFor(1);
+        service.suggestionsFor(2);
+        service.suggestionsFor(4);
+        verify(userRepository, times(2)).findAllById(any()); // 4 n'a aucun ami : rien à résoudre
+
+        // 3 change d'amis : 1 et 2 l'ont ajouté, leur cache est invalidé ; pas celui de 4
+        service.onConnectionChanged(3, 5);
+        service.suggestionsFor(1);
+        service.suggestionsFor(2);
+        service.suggestionsFor(4);
+
+        verify(userRepository, times(4)).findAllById(any());
+        // Aucune lecture de la base en dehors du chargement de l'index
+        verify(userConnectionRepository, times(1)).findEdgesAfter(anyInt(), anyInt(), any());
+    }
+
+    /**
+     * Test de la reconstruction : les entrées recalculées sur l'ancien instantané sont invalidées après l'échange
+     */
+    @Test
+    void testRebuildInvalidatesChangedEntriesAfterSwap() {
+        warmUp(edges);
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+
+        service.suggestionsFor(1);
+        friendGraphIndex.add(1, 4);
+        service.onConnectionChanged(1, 4);
+        service.suggestionsFor(1);
+        service.rebuildSnapshot();
+        service.suggestionsFor(1);
+        // Graphe inchangé depuis : pas de nouvelle reconstruction, le cache est conservé
+        service.rebuildSnapshot();
+        service.suggestionsFor(1);
+
+        verify(userRepository, times(3)).findAllById(any());
+        verify(userConnectionRepository, times(1)).findEdgesAfter(anyInt(), anyInt(), any());
+    }
+
+    /**
+     * Test de la collecte parallèle sur un grand voisinage, limitée aux topK meilleurs
+     */
+    @Test
+    void testRankOnLargeNeighbourhood() {
+        // 1 a 100 amis (2..101) ; chacun a ajouté 200..299, et les amis pairs ont aussi ajouté 150
+        List<FriendEdge> large = new ArrayList<>();
+        for (int friend = 2; friend <= 101; friend++) {
+            large.add(new FriendEdge(1, friend));
+        }
+        for (int friend = 2; friend <= 101; friend++) {
+            if (friend % 2 == 0) {
+                large.add(new FriendEdge(friend, 150));
+            }
+            for (int target = 200; target < 300; target++) {
+                large.add(new FriendEdge(friend, target));
+            }
+        }
+        warmUp(large);
+
+        FriendSuggestionService.Snapshot snapshot = service.buildSnapshot();
+        int[] ranked = service.rank(snapshot, 1);
+
+        assertTrue(100 * 100 >= FriendSuggestionService.PARALLEL_THRESHOLD);
+        assertArrayEquals(new int[]{200, 100, 201, 100, 202, 100, 203, 100, 204, 100}, ranked);
+    }
+}
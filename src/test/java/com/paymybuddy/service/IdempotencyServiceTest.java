@@ -0,0 +1,126 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.IdempotencyRecord;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour IdempotencyService avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    private IdempotencyService idempotencyService;
+
+    private Transaction request;
+    private Transaction created;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, transactionService, 2);
+        User sender = new User(1, "sender@example.com", "sender", null);
+        User receiver = new User(2, "receiver@example.com", "receiver", null);
+        request = new Transaction(null, sender, receiver, BigDecimal.TEN, "Restaurant");
+        created = new Transaction(7, sender, receiver, BigDecimal.TEN, "Restaurant");
+    }
+
+    /**
+     * Test d'un rejeu : la deuxième requête est servie par le cache, sans accès à la base
+     */
+    @Test
+    void testReplayIsServedFromMemory() {
+        when(idempotencyRecordRepository.findById("k1")).thenReturn(Optional.empty());
+        when(transactionService.createTransaction(request, "k1")).thenReturn(created);
+
+        assertSame(created, idempotencyService.createOnce("k1", request));
+        assertSame(created, idempotencyService.createOnce("k1", request));
+
+        verify(transactionService, times(1)).createTransaction(any(Transaction.class), anyString());
+        verify(idempotencyRecordRepository, times(1)).findById("k1");
+    }
+
+    /**
+     * Test d'un rejeu après éviction du cache : la transaction d'origine est relue en base
+     */
+    @Test
+    void testReplayIsServedFromDatabase() {
+        when(idempotencyRecordRepository.findById("k1")).thenReturn(Optional.of(new IdempotencyRecord("k1", 1, 7)));
+        when(transactionService.getTransactionById(7)).thenReturn(Optional.of(created));
+
+        assertSame(created, idempotencyService.createOnce("k1", request));
+
+        verify(transactionService, never()).createTransaction(any(Transaction.class), anyString());
+    }
+
+    /**
+     * Test d'une course entre deux requêtes : le perdant renvoie la transaction du gagnant
+     */
+    @Test
+    void testConcurrentDuplicateReturnsWinner() {
+        when(idempotencyRecordRepository.findById("k1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyRecord("k1", 1, 7)));
+        when(transactionService.createTransaction(request, "k1"))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(transactionService.getTransactionById(7)).thenReturn(Optional.of(created));
+
+        assertSame(created, idempotencyService.createOnce("k1", request));
+    }
+
+    /**
+     * Test d'une clé réutilisée par un autre expéditeur
+     */
+    @Test
+    void testKeyOfAnotherSenderIsRejected() {
+        when(idempotencyRecordRepository.findById("k1")).thenReturn(Optional.of(new IdempotencyRecord("k1", 99, 7)));
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.createOnce("k1", request));
+        verifyNoInteractions(transactionService);
+    }
+
+    /**
+     * Test des clés invalides
+     */
+    @Test
+    void testInvalidKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.createOnce(" ", request));
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.createOnce("x".repeat(IdempotencyRecord.MAX_KEY_LENGTH + 1), request));
+    }
+
+    /**
+     * Test de la borne du cache : les clés les moins récemment utilisées sont évincées
+     */
+    @Test
+    void testCacheIsBounded() {
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(transactionService.createTransaction(any(Transaction.class), anyString())).thenReturn(created);
+
+        idempotencyService.createOnce("k1", request);
+        idempotencyService.createOnce("k2", request);
+        idempotencyService.createOnce("k3", request);
+
+        assertEquals(2, idempotencyService.cachedKeys());
+    }
+}
@@ -0,0 +1,265 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.AccountBalance;
+import com.paymybuddy.model.Account;
+import com.paymybuddy.model.AccountStripe;
+import com.paymybuddy.model.LedgerEntry;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserTransactionSummary;
+import com.paymybuddy.repository.AccountRepository;
+import com.paymybuddy.repository.AccountStripeRepository;
+import com.paymybuddy.repository.LedgerEntryRepository;
+import com.paymybuddy.repository.UserTransactionSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour LedgerService avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountStripeRepository accountStripeRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private UserTransactionSummaryRepository summaryRepository;
+
+    @InjectMocks
+    private LedgerService ledgerService;
+
+    private Transaction transfer(int id, int senderId, int receiverId, String amount) {
+        return new Transaction(id, new User(senderId, null, null, null), new User(receiverId, null, null, null),
+                new BigDecimal(amount), null);
+    }
+
+    /**
+     * Test de la mise à jour des soldes et des écritures en partie double
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordTransfer() {
+        Account sender = new Account(1, new BigDecimal("100.00"));
+        Account receiver = new Account(2, new BigDecimal("5.00"));
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(sender));
+        when(accountRepository.findByIdForUpdate(2)).thenReturn(Optional.of(receiver));
+
+        ledgerService.recordTransfer(transfer(10, 1, 2, "30.00"));
+
+        assertEquals(new BigDecimal("70.00"), sender.getBalance());
+        assertEquals(new BigDecimal("35.00"), receiver.getBalance());
+
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerEntryRepository).saveAll(entries.capture());
+        assertEquals(2, entries.getValue().size());
+        assertEquals(new BigDecimal("-30.00"), entries.getValue().get(0).getAmount());
+        assertEquals(1, entries.getValue().get(0).getUserId());
+        assertEquals(new BigDecimal("30.00"), entries.getValue().get(1).getAmount());
+        assertEquals(2, entries.getValue().get(1).getUserId());
+        assertTrue(entries.getValue().stream().allMatch(e -> e.getTransactionId() == 10));
+    }
+
+    /**
+     * Test de l'ordre des verrous : le plus petit id est toujours verrouillé en premier
+     */
+    @Test
+    void testLocksAreTakenInAscendingIdOrder() {
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(new Account(1, BigDecimal.ZERO)));
+        when(accountRepository.findByIdForUpdate(2)).thenReturn(Optional.of(new Account(2, BigDecimal.ZERO)));
+
+        ledgerService.recordTransfer(transfer(11, 2, 1, "1.00"));
+
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).findByIdForUpdate(1);
+        inOrder.verify(accountRepository).findByIdForUpdate(2);
+    }
+
+    /**
+     * Test d'un utilisateur sans compte : le paiement échoue au lieu d'insérer un compte sans verrou
+     */
+    @Test
+    void testRecordTransferRejectsMissingAccount() {
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(new Account(1, BigDecimal.ZERO)));
+        when(accountRepository.findByIdForUpdate(2)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> ledgerService.recordTransfer(transfer(12, 1, 2, "2.50")));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    /**
+     * Test d'un lot : chaque compte n'est verrouillé qu'une fois et reçoit la somme de ses mouvements
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordTransfersAggregatesPerAccount() {
+        Account a = new Account(1, new BigDecimal("10.00"));
+        Account b = new Account(2, new BigDecimal("10.00"));
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(a));
+        when(accountRepository.findByIdForUpdate(2)).thenReturn(Optional.of(b));
+
+        ledgerService.recordTransfers(List.of(transfer(20, 1, 2, "3.00"), transfer(21, 2, 1, "1.00"),
+                transfer(22, 1, 2, "2.00")));
+
+        assertEquals(new BigDecimal("6.00"), a.getBalance());
+        assertEquals(new BigDecimal("14.00"), b.getBalance());
+        verify(accountRepository, times(1)).findByIdForUpdate(1);
+        verify(accountRepository, times(1)).findByIdForUpdate(2);
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerEntryRepository).saveAll(entries.capture());
+        assertEquals(6, entries.getValue().size());
+    }
+
+    /**
+     * Test de lecture du solde, nul si le compte n'existe pas
+     */
+    @Test
+    void testGetBalance() {
+        when(accountRepository.findById(1)).thenReturn(Optional.of(new Account(1, BigDecimal.TEN)));
+        when(accountRepository.findById(2)).thenReturn(Optional.empty());
+
+        assertEquals(BigDecimal.TEN, ledgerService.getBalance(1));
+        assertEquals(BigDecimal.ZERO, ledgerService.getBalance(2));
+    }
+
+    /**
+     * Test d'un crédit vers un compte à solde réparti : seule une sous-ligne est verrouillée
+     */
+    @Test
+    void testRecordTransferToStripedReceiver() {
+        Account sender = new Account(1, new BigDecimal("10.00"));
+        AccountStripe stripe = new AccountStripe(2, 3, new BigDecimal("1.00"));
+        when(accountRepository.findStripeCountByUserId(2)).thenReturn(Optional.of(4));
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(sender));
+        when(accountStripeRepository.findForUpdate(2, 3)).thenReturn(Optional.of(stripe));
+
+        ledgerService.recordTransfer(transfer(7, 1, 2, "4.00"));
+
+        assertEquals(new BigDecimal("6.00"), sender.getBalance());
+        assertEquals(new BigDecimal("5.00"), stripe.getBalance());
+        verify(accountRepository, never()).findByIdForUpdate(2);
+        InOrder inOrder = inOrder(accountRepository, accountStripeRepository);
+        inOrder.verify(accountRepository).findByIdForUpdate(1);
+        inOrder.verify(accountStripeRepository).findForUpdate(2, 3);
+    }
+
+    /**
+     * Test du choix de la sous-ligne à partir de l'id de la transaction
+     */
+    @Test
+    void testStripeForSpreadsConsecutiveIds() {
+        assertEquals(0, LedgerService.stripeFor(transfer(8, 1, 2, "1"), 4));
+        assertEquals(1, LedgerService.stripeFor(transfer(9, 1, 2, "1"), 4));
+        assertEquals(3, LedgerService.stripeFor(transfer(11, 1, 2, "1"), 4));
+    }
+
+    /**
+     * Test d'activation du solde réparti : création des sous-lignes manquantes
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEnableStripedBalance() {
+        Account account = new Account(2, new BigDecimal("3.00"));
+        when(accountRepository.findByIdForUpdate(2)).thenReturn(Optional.of(account));
+        when(accountStripeRepository.sumBalanceByUserId(2)).thenReturn(BigDecimal.ZERO);
+
+        AccountBalance result = ledgerService.enableStripedBalance(2, 4);
+
+        ArgumentCaptor<List<AccountStripe>> stripes = ArgumentCaptor.forClass(List.class);
+        verify(accountStripeRepository).saveAll(stripes.capture());
+        assertEquals(4, stripes.getValue().size());
+        assertEquals(4, account.getStripeCount());
+        assertEquals(4, result.stripes());
+        assertEquals(new BigDecimal("3.00"), result.balance());
+    }
+
+    /**
+     * Test des bornes du nombre de sous-lignes
+     */
+    @Test
+    void testEnableStripedBalanceRejectsInvalidCount() {
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.enableStripedBalance(2, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ledgerService.enableStripedBalance(2, LedgerService.MAX_STRIPES + 1));
+        verifyNoInteractions(accountRepository);
+    }
+
+    /**
+     * Test de lecture d'un solde réparti : ligne principale + sous-lignes
+     */
+    @Test
+    void testGetBalanceSumsStripes() {
+        Account account = new Account(2, new BigDecimal("-1.00"));
+        account.setStripeCount(4);
+        when(accountRepository.findById(2)).thenReturn(Optional.of(account));
+        when(accountStripeRepository.sumBalanceByUserId(2)).thenReturn(new BigDecimal("12.00"));
+
+        assertEquals(new BigDecimal("11.00"), ledgerService.getBalance(2));
+    }
+
+    /**
+     * Test de la synthèse : ligne existante incrémentée, ligne manquante créée avec les cumuls du lot
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordTransfersUpdatesSummary() {
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(new Account(1, BigDecimal.ZERO)));
+        when(accountRepository.findByIdForUpdate(2)).thenReturn(Optional.of(new Account(2, BigDecimal.ZERO)));
+        UserTransactionSummary senderSummary = new UserTransactionSummary(1, 0);
+        senderSummary.recordSent(new BigDecimal("10.00"));
+        when(summaryRepository.findForUpdate(1, 0)).thenReturn(Optional.of(senderSummary));
+        when(summaryRepository.findForUpdate(2, 0)).thenReturn(Optional.empty());
+
+        ledgerService.recordTransfers(List.of(transfer(30, 1, 2, "3.00"), transfer(31, 1, 2, "2.00")));
+
+        assertEquals(new BigDecimal("15.00"), senderSummary.getTotalSent());
+        assertEquals(3, senderSummary.getSentCount());
+        ArgumentCaptor<List<UserTransactionSummary>> created = ArgumentCaptor.forClass(List.class);
+        verify(summaryRepository).saveAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        UserTransactionSummary receiverSummary = created.getValue().get(0);
+        assertEquals(2, receiverSummary.getUserId());
+        assertEquals(new BigDecimal("5.00"), receiverSummary.getTotalReceived());
+        assertEquals(2, receiverSummary.getReceivedCount());
+        assertEquals(0, receiverSummary.getSentCount());
+    }
+
+    /**
+     * Test de la synthèse d'un destinataire à solde réparti : ligne de la sous-ligne créditée
+     */
+    @Test
+    void testStripedReceiverSummaryUsesStripeSlot() {
+        when(accountRepository.findStripeCountByUserId(2)).thenReturn(Optional.of(4));
+        when(accountRepository.findByIdForUpdate(1)).thenReturn(Optional.of(new Account(1, BigDecimal.ZERO)));
+        when(accountStripeRepository.findForUpdate(2, 3)).thenReturn(Optional.of(new AccountStripe(2, 3, BigDecimal.ZERO)));
+        UserTransactionSummary stripeSummary = new UserTransactionSummary(2, 4);
+        when(summaryRepository.findForUpdate(1, 0)).thenReturn(Optional.of(new UserTransactionSummary(1, 0)));
+        when(summaryRepository.findForUpdate(2, 4)).thenReturn(Optional.of(stripeSummary));
+
+        ledgerService.recordTransfer(transfer(7, 1, 2, "4.00"));
+
+        assertEquals(new BigDecimal("4.00"), stripeSummary.getTotalReceived());
+        assertEquals(1, stripeSummary.getReceivedCount());
+        verify(summaryRepository, never()).findForUpdate(2, 0);
+        verify(summaryRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,183 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour PaymentPipeline avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class PaymentPipelineTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private final PaymentRejections rejections = new PaymentRejections(new SimpleMeterRegistry());
+    private PaymentPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private Transaction payment(int senderId, int receiverId, String amount) {
+        return new Transaction(null, new User(senderId, null, null, null), new User(receiverId, null, null, null),
+                new BigDecimal(amount), null);
+    }
+
+    /**
+     * Test du regroupement : les paiements en attente sont validés en un seul lot
+     */
+    @Test
+    void testPendingPaymentsAreCommittedTogether() throws Exception {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 3, 1000, 100, 5000);
+        List<Transaction> payments = List.of(payment(1, 2, "1.00"), payment(2, 3, "2.00"), payment(3, 1, "3.00"));
+        when(transactionService.createTransactions(payments)).thenReturn(payments);
+        pipeline.start();
+
+        List<CompletableFuture<Transaction>> results = payments.stream().map(pipeline::submit).toList();
+
+        for (int i = 0; i < payments.size(); i++) {
+            assertSame(payments.get(i), results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        verify(transactionService, times(1)).createTransactions(anyList());
+        verify(transactionService, never()).createTransaction(any(Transaction.class));
+    }
+
+    /**
+     * Test de la reprise un par un : seul le paiement fautif échoue
+     */
+    @Test
+    void testFailedBatchIsReplayedOneByOne() throws Exception {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 2, 1000, 100, 5000);
+        Transaction ok = payment(1, 2, "1.00");
+        Transaction unknownReceiver = payment(1, 99, "1.00");
+        when(transactionService.createTransactions(anyList())).thenThrow(new RuntimeException("Destinataire introuvable."));
+        when(transactionService.createTransaction(ok)).thenReturn(ok);
+        when(transactionService.createTransaction(unknownReceiver))
+                .thenThrow(new RuntimeException("Destinataire introuvable."));
+        pipeline.start();
+
+        CompletableFuture<Transaction> first = pipeline.submit(ok);
+        CompletableFuture<Transaction> second = pipeline.submit(unknownReceiver);
+
+        assertSame(ok, first.get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals("Destinataire introuvable.", e.getCause().getMessage());
+    }
+
+    /**
+     * Test de la validation immédiate : montant positif, parties présentes et pas d'envoi à soi-même
+     */
+    @Test
+    void testSubmitValidatesSynchronously() {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 10, 50, 100, 5000);
+
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(payment(1, 2, "-5.00")));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(payment(1, 1, "5.00")));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(
+                new Transaction(null, new User(1, null, null, null), null, new BigDecimal("5.00"), null)));
+        assertEquals(0, pipeline.pending());
+    }
+
+    /**
+     * Test de la file bornée : au-delà de la capacité, la soumission est refusée
+     */
+    @Test
+    void testSubmitIsRejectedWhenQueueIsFull() throws Exception {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 1, 1, 1, 5000);
+        CountDownLatch release = blockWriter();
+        try {
+            pipeline.submit(payment(1, 2, "1.00"));
+
+            assertThrows(RejectedExecutionException.class, () -> pipeline.submit(payment(1, 2, "1.00")));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Test du pipeline arrêté : la soumission est refusée au lieu d'attendre un écrivain absent
+     */
+    @Test
+    void testSubmitIsRejectedWhenNotRunning() throws Exception {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 10, 50, 100, 5000);
+
+        assertThrows(RejectedExecutionException.class, () -> pipeline.submit(payment(1, 2, "1.00")));
+
+        pipeline.start();
+        pipeline.stop();
+
+        assertThrows(RejectedExecutionException.class, () -> pipeline.submitAndWait(payment(1, 2, "1.00")));
+        assertEquals(0, pipeline.pending());
+    }
+
+    /**
+     * Test de l'attente bornée : au-delà du délai, le paiement encore en file est retiré et refusé
+     */
+    @Test
+    void testSubmitAndWaitTimesOut() throws Exception {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 1, 1, 10, 100);
+        CountDownLatch release = blockWriter();
+        try {
+            RejectedExecutionException e = assertThrows(RejectedExecutionException.class,
+                    () -> pipeline.submitAndWait(payment(1, 2, "1.00")));
+
+            assertTrue(e.getMessage().contains("non effectué"));
+            assertEquals(0, pipeline.pending());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // Démarre le pipeline et occupe l'écrivain avec un premier paiement jusqu'à libération du verrou
+    private CountDownLatch blockWriter() throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            busy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        pipeline.start();
+        pipeline.submit(payment(3, 4, "1.00"));
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    /**
+     * Test de l'attente synchrone : l'erreur d'origine est relancée telle quelle
+     */
+    @Test
+    void testSubmitAndWaitUnwrapsFailure() {
+        pipeline = new PaymentPipeline(transactionService, rejections, true, 1, 1, 10, 5000);
+        when(transactionService.createTransactions(anyList())).thenThrow(new RuntimeException("Expéditeur introuvable."));
+        when(transactionService.createTransaction(any(Transaction.class)))
+                .thenThrow(new RuntimeException("Expéditeur introuvable."));
+        pipeline.start();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> pipeline.submitAndWait(payment(5, 2, "1.00")));
+        assertEquals("Expéditeur introuvable.", e.getMessage());
+    }
+}
@@ -0,0 +1,61 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour PaymentRejections et les validations de TransactionService
+ */
+class PaymentRejectionsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PaymentRejections rejections = new PaymentRejections(registry);
+
+    private double rejected(PaymentRejections.Reason reason) {
+        return registry.get(PaymentRejections.METRIC).tag("reason", reason.tag()).counter().count();
+    }
+
+    /**
+     * Test du comptage des montants nuls, négatifs ou absents
+     */
+    @Test
+    void testNonPositiveAmountIsCounted() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionService.validateAmount(BigDecimal.ZERO, rejections));
+        assertThrows(IllegalArgumentException.class, () -> TransactionService.validateAmount(new BigDecimal("-5"), rejections));
+        assertThrows(IllegalArgumentException.class, () -> TransactionService.validateAmount(null, rejections));
+
+        assertEquals(3, rejected(PaymentRejections.Reason.NON_POSITIVE_AMOUNT));
+        assertEquals(0, rejected(PaymentRejections.Reason.SELF_SEND));
+    }
+
+    /**
+     * Test du comptage des envois à soi-même
+     */
+    @Test
+    void testSelfSendIsCounted() {
+        User user = new User(1, "alice@example.com", "alice", "x");
+
+        assertThrows(IllegalArgumentException.class, () -> TransactionService.validateParties(user, user, rejections));
+
+        assertEquals(1, rejected(PaymentRejections.Reason.SELF_SEND));
+    }
+
+    /**
+     * Test d'un paiement valide : aucun refus compté
+     */
+    @Test
+    void testValidPaymentIsNotCounted() {
+        TransactionService.validateAmount(new BigDecimal("10.00"), rejections);
+        TransactionService.validateParties(new User(1, "alice@example.com", "alice", "x"),
+                new User(2, "bob@example.com", "bob", "x"), rejections);
+
+        for (PaymentRejections.Reason reason : PaymentRejections.Reason.values()) {
+            assertEquals(0, rejected(reason));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration pour SyntheticDataGenerator (base H2, annulés en fin de test)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private SyntheticDataGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new SyntheticDataGenerator(jdbcTemplate, new BCryptPasswordEncoder(4));
+    }
+
+    private static SyntheticDataGenerator.Plan plan(int users, long transactions) {
+        return new SyntheticDataGenerator.Plan(users, 5, 20, 2.5, transactions, 1.1, 3, 64, 42L, "password");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    /**
+     * Test des volumes générés et de la cohérence du grand livre et des soldes
+     */
+    @Test
+    void testGenerateWritesConsistentDataSet() {
+        SyntheticDataGenerator.Report report = generator.generate(plan(200, 1_000));
+
+        assertEquals(200, count("SELECT COUNT(*) FROM users"));
+        assertEquals(1_000, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(2_000, count("SELECT COUNT(*) FROM ledger_entries"));
+        assertEquals(200, count("SELECT COUNT(*) FROM accounts"));
+        assertEquals(report.connections(), count("SELECT COUNT(*) FROM user_connections"));
+        assertEquals(2_000, report.ledgerEntries());
+
+        // Partie double : chaque transaction s'annule dans le grand livre, la somme des soldes est nulle
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT SUM(amount) FROM ledger_entries", BigDecimal.class).signum());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT SUM(balance) FROM accounts", BigDecimal.class).signum());
+        assertEquals(1_000, count("SELECT SUM(sent_count) FROM user_transaction_summary"));
+        assertEquals(1_000, count("SELECT SUM(received_count) FROM user_transaction_summary"));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions WHERE sender_id = receiver_id"));
+    }
+
+    /**
+     * Test du graphe d'amitié : pas de boucle, degré borné, utilisateurs populaires
+     */
+    @Test
+    void testConnectionsFollowPlan() {
+        generator.generate(plan(500, 0));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM user_connections WHERE user_id = connection_id"));
+        assertTrue(count("SELECT MAX(c) FROM (SELECT COUNT(*) AS c FROM user_connections GROUP BY user_id) d") <= 20);
+        assertEquals(500, count("SELECT COUNT(DISTINCT user_id) FROM user_connections"));
+        // Loi de Zipf sur les amis : l'utilisateur le plus suivi l'est bien plus que la moyenne
+        long maxFollowers = count("SELECT MAX(c) FROM (SELECT COUNT(*) AS c FROM user_connections GROUP BY connection_id) d");
+        long connections = count("SELECT COUNT(*) FROM user_connections");
+        assertTrue(maxFollowers > 5 * connections / 500);
+    }
+
+    /**
+     * Test des dates : croissantes avec l'id, comme pour les transactions réelles
+     */
+    @Test
+    void testTransactionDatesFollowIds() {
+        generator.generate(plan(50, 300));
+
+        List<Timestamp> dates = jdbcTemplate.queryForList(
+                "SELECT created_at FROM transactions ORDER BY id", Timestamp.class);
+        for (int i = 1; i < dates.size(); i++) {
+            assertFalse(dates.get(i).before(dates.get(i - 1)));
+        }
+    }
+
+    /**
+     * Test d'une seconde génération : ajoutée à la suite, compteurs d'ids avancés
+     */
+    @Test
+    void testGenerateAppendsAfterExistingIds() {
+        generator.generate(plan(20, 50));
+        long maxUserId = count("SELECT MAX(id) FROM users");
+
+        generator.generate(plan(20, 50));
+
+        assertEquals(40, count("SELECT COUNT(*) FROM users"));
+        assertEquals(100, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(200, count("SELECT COUNT(*) FROM ledger_entries"));
+        assertEquals(20, count("SELECT COUNT(*) FROM users WHERE id > " + maxUserId));
+        assertTrue(count("SELECT next_val FROM id_sequences WHERE sequence_name = 'transactions'")
+                > count("SELECT MAX(id) FROM transactions"));
+        assertTrue(userRepository.findByEmail("user" + maxUserId + "@datagen.paymybuddy").isPresent());
+    }
+
+    /**
+     * Test des plans refusés
+     */
+    @Test
+    void testInvalidPlans() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDataGenerator.Plan(1, 5, 20, 2.5, 10, 1.1, 3, 64, 42L, "password"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDataGenerator.Plan(100, 5, 20, 2.0, 10, 1.1, 3, 64, 42L, "password"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDataGenerator.Plan(100, 5, 20, 2.5, 10, 1.1, 3,
+                        SyntheticDataGenerator.MAX_BATCH_ROWS + 1, 42L, "password"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.ArchivedTransaction;
+import com.paymybuddy.model.IdempotencyRecord;
+import com.paymybuddy.model.Transaction;
+import com.paymybuddy.model.User;
+import com.paymybuddy.repository.ArchivedTransactionRepository;
+import com.paymybuddy.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration pour TransactionArchiver (base H2 non partitionnée)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TransactionArchiverTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    private TransactionArchiver archiver;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new TransactionArchiver(jdbcTemplate, transactionManager, 12, false, 3);
+        alice = entityManager.persistAndFlush(new User(null, "alice@example.com", "alice", "password"));
+        bob = entityManager.persistAndFlush(new User(null, "bob@example.com", "bob", "password"));
+    }
+
+    private Transaction persistAt(String amount, String createdAt) {
+        Transaction transaction = new Transaction(null, alice, bob, new BigDecimal(amount), "t" + amount);
+        transaction.setCreatedAt(Instant.parse(createdAt));
+        return entityManager.persistAndFlush(transaction);
+    }
+
+    /**
+     * Test du déplacement des mois anciens vers l'archive
+     */
+    @Test
+    void testArchiveBeforeMovesColdRows() {
+        Transaction cold = persistAt("1.00", "2025-01-31T23:59:59Z");
+        Transaction hot = persistAt("2.00", "2025-02-01T00:00:00Z");
+        entityManager.clear();
+
+        int copied = archiver.archiveBefore(YearMonth.of(2025, 2));
+        entityManager.clear();
+
+        assertEquals(1, copied);
+        assertTrue(transactionRepository.findById(cold.getId()).isEmpty());
+        assertTrue(transactionRepository.findById(hot.getId()).isPresent());
+        ArchivedTransaction archived = archivedTransactionRepository.findById(cold.getId()).orElseThrow();
+        assertEquals(alice.getId(), archived.getSenderId());
+        assertEquals(bob.getId(), archived.getReceiverId());
+        assertEquals(0, new BigDecimal("1.00").compareTo(archived.getAmount()));
+        assertEquals(Instant.parse("2025-01-31T23:59:59Z"), archived.getCreatedAt());
+    }
+
+    /**
+     * Test de la purge des clés d'idempotence des paiements archivés
+     */
+    @Test
+    void testArchiveBeforeRemovesIdempotencyKeysOfColdRows() {
+        Transaction cold = persistAt("1.00", "2025-01-31T23:59:59Z");
+        Transaction hot = persistAt("2.00", "2025-02-01T00:00:00Z");
+        entityManager.persistAndFlush(new IdempotencyRecord("cold-key", alice.getId(), cold.getId()));
+        entityManager.persistAndFlush(new IdempotencyRecord("hot-key", alice.getId(), hot.getId()));
+        entityManager.clear();
+
+        archiver.archiveBefore(YearMonth.of(2025, 2));
+
+        assertEquals(List.of("hot-key"), jdbcTemplate.queryForList(
+                "SELECT idempotency_key FROM idempotency_keys", String.class));
+    }
+
+    /**
+     * Test d'un second passage : rien n'est copié deux fois
+     */
+    @Test
+    void testArchiveBeforeIsRerunnable() {
+        persistAt("1.00", "2024-06-15T12:00:00Z");
+        entityManager.clear();
+
+        assertEquals(1, archiver.archiveBefore(YearMonth.of(2025, 1)));
+        assertEquals(0, archiver.archiveBefore(YearMonth.of(2025, 1)));
+        assertEquals(1, archivedTransactionRepository.count());
+    }
+
+    /**
+     * Test de lecture des bornes de partition renvoyées par information_schema
+     */
+    @Test
+    void testUpperBound() {
+        assertEquals(LocalDate.of(2025, 2, 1), TransactionArchiver.upperBound("'2025-02-01 00:00:00'"));
+        assertEquals(LocalDate.of(2025, 2, 1), TransactionArchiver.upperBound("'2025-02-01'"));
+        assertNull(TransactionArchiver.upperBound("MAXVALUE"));
+    }
+
+    /**
+     * Test de la durée de conservation minimale
+     */
+    @Test
+    void testInvalidRetention() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TransactionArchiver(jdbcTemplate, transactionManager, 0, false, 3));
+    }
+}
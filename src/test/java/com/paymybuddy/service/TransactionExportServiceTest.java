@@ -0,0 +1,134 @@
+package com.paymybuddy.service;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paymybuddy.dto.TransactionView;
+import com.paymybuddy.repository.ArchivedTransactionRepository;
+import com.paymybuddy.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour TransactionExportService avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    private TransactionExportService exportService;
+
+    private final TransactionView first = new TransactionView(1, "alice", "bob", new BigDecimal("12.50"), "Resto",
+            Instant.parse("2025-01-15T10:00:00Z"));
+    private final TransactionView second = new TransactionView(2, "bob", "alice", new BigDecimal("3.00"), "Café, \"merci\"",
+            null);
+
+    @BeforeEach
+    void setUp() {
+        // Même réglage des dates que l'ObjectMapper de Spring Boot
+        exportService = new TransactionExportService(transactionRepository, archivedTransactionRepository, JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    /**
+     * Test de l'export NDJSON : un objet JSON par ligne, flux fermé après usage
+     */
+    @Test
+    void testExportNdjson() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(transactionRepository.streamAllViews())
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(TransactionExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"senderUsername\":\"alice\",\"receiverUsername\":\"bob\",\"amount\":12.50,"
+                + "\"description\":\"Resto\",\"createdAt\":\"2025-01-15T10:00:00Z\"}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        assertTrue(closed.get());
+    }
+
+    /**
+     * Test de l'export CSV : en-tête, montants exacts et échappement RFC 4180
+     */
+    @Test
+    void testExportCsv() throws Exception {
+        when(transactionRepository.streamAllViews()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(TransactionExportService.Format.CSV, out);
+
+        assertEquals("id,sender,receiver,amount,description,created_at\n"
+                + "1,alice,bob,12.50,Resto,2025-01-15T10:00:00Z\n"
+                + "2,bob,alice,3.00,\"Café, \"\"merci\"\"\",\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test de l'export avec archive : lignes archivées d'abord, chaque flux fermé avant d'ouvrir le suivant
+     */
+    @Test
+    void testExportIncludesArchiveFirst() throws Exception {
+        AtomicBoolean archiveClosed = new AtomicBoolean();
+        when(archivedTransactionRepository.streamAllViews())
+                .thenReturn(Stream.of(first).onClose(() -> archiveClosed.set(true)));
+        when(transactionRepository.streamAllViews()).thenAnswer(invocation -> {
+            assertTrue(archiveClosed.get());
+            return Stream.of(second);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(TransactionExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("1,"));
+        assertTrue(lines[2].startsWith("2,"));
+    }
+
+    /**
+     * Test de l'export d'une table vide
+     */
+    @Test
+    void testExportEmpty() throws Exception {
+        when(transactionRepository.streamAllViews()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(TransactionExportService.Format.NDJSON, out);
+
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test de la lecture du paramètre format
+     */
+    @Test
+    void testParseFormat() {
+        assertEquals(Optional.of(TransactionExportService.Format.CSV), TransactionExportService.Format.parse("CSV"));
+        assertEquals(Optional.of(TransactionExportService.Format.NDJSON), TransactionExportService.Format.parse("ndjson"));
+        assertTrue(TransactionExportService.Format.parse("xml").isEmpty());
+    }
+}
@@ -1,23 +1,36 @@
 package com.paymybuddy.service;
 
+import com.paymybuddy.dto.AmountTotal;
+import com.paymybuddy.dto.CursorPage;
+import com.paymybuddy.dto.TransactionStatement;
+import com.paymybuddy.dto.TransactionView;
+import com.paymybuddy.model.ArchivedTransaction;
+import com.paymybuddy.model.IdempotencyRecord;
 import com.paymybuddy.model.Transaction;
 import com.paymybuddy.model.User;
+import com.paymybuddy.repository.ArchivedTransactionRepository;
+import com.paymybuddy.repository.IdempotencyRecordRepository;
 import com.paymybuddy.repository.TransactionRepository;
 import com.paymybuddy.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,6 +45,18 @@ class TransactionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private PaymentRejections paymentRejections;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -75,6 +100,8 @@ class TransactionServiceTest {
         verify(userRepository).findById(1);
         verify(userRepository).findById(2);
         verify(transactionRepository).save(testTransaction);
+        verify(ledgerService).recordTransfer(testTransaction);
+        assertNotNull(testTransaction.getCreatedAt());
     }
 
     /**
@@ -92,6 +119,7 @@ class TransactionServiceTest {
         verify(userRepository).findById(1);
         verify(userRepository, never()).findById(2);
         verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(ledgerService);
     }
 
     /**
@@ -232,4 +260,293 @@ class TransactionServiceTest {
         verify(userRepository).findById(2);
         verify(transactionRepository).save(testTransaction);
     }
+
+    /**
+     * Test de la première page : on lit size + 1 lignes pour détecter la page suivante
+     */
+    @Test
+    void testGetTransactionsBySenderFirstPage() {
+        Transaction t3 = new Transaction(3, sender, receiver, BigDecimal.TEN, "t3");
+        Transaction t2 = new Transaction(2, sender, receiver, BigDecimal.TEN, "t2");
+        Transaction t1 = new Transaction(1, sender, receiver, BigDecimal.TEN, "t1");
+        when(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(t3, t2, t1));
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, null, 2);
+
+        assertEquals(List.of(t3, t2), page.items());
+        assertEquals(2, page.nextCursor());
+    }
+
+    /**
+     * Test de la dernière page : pas de curseur suivant
+     */
+    @Test
+    void testGetTransactionsBySenderLastPage() {
+        Transaction t1 = new Transaction(1, sender, receiver, BigDecimal.TEN, "t1");
+        when(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, 2, Limit.of(3)))
+                .thenReturn(List.of(t1));
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, 2, 2);
+
+        assertEquals(List.of(t1), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Test des bornes de taille de page
+     */
+    @Test
+    void testPageSizeIsBounded() {
+        assertEquals(TransactionService.DEFAULT_PAGE_SIZE, TransactionService.pageSize(null));
+        assertEquals(TransactionService.DEFAULT_PAGE_SIZE, TransactionService.pageSize(0));
+        assertEquals(TransactionService.MAX_PAGE_SIZE, TransactionService.pageSize(100_000));
+        assertEquals(5, TransactionService.pageSize(5));
+    }
+
+    /**
+     * Test de la pagination globale et par destinataire
+     */
+    @Test
+    void testGetTransactionsPages() {
+        when(transactionRepository.findByIdLessThanOrderByIdDesc(Integer.MAX_VALUE,
+                Limit.of(TransactionService.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of(testTransaction));
+        when(transactionRepository.findByReceiverIdAndIdLessThanOrderByIdDesc(2, 50, Limit.of(11)))
+                .thenReturn(List.of(testTransaction));
+
+        assertEquals(List.of(testTransaction), transactionService.getTransactions(null, null).items());
+        assertEquals(List.of(testTransaction), transactionService.getTransactionsByReceiver(2, 50, 10).items());
+    }
+
+    /**
+     * Test de l'historique en projection légère
+     */
+    @Test
+    void testGetTransactionViewsBySender() {
+        TransactionView v2 = new TransactionView(2, "sender", "receiver", BigDecimal.TEN, "t2", null);
+        TransactionView v1 = new TransactionView(1, "sender", "receiver", BigDecimal.ONE, "t1", null);
+        when(transactionRepository.findViewsBySenderId(1, Integer.MAX_VALUE, Limit.of(2)))
+                .thenReturn(List.of(v2, v1));
+
+        CursorPage<TransactionView> page = transactionService.getTransactionViewsBySender(1, null, 1);
+
+        assertEquals(List.of(v2), page.items());
+        assertEquals(2, page.nextCursor());
+        verify(userRepository, never()).findById(any());
+    }
+
+    /**
+     * Test de création en lot : un seul chargement des utilisateurs et un seul saveAll
+     */
+    @Test
+    void testCreateTransactionsInBatch() {
+        Transaction second = new Transaction(null, receiver, sender, BigDecimal.ONE, "retour");
+        List<Transaction> batch = List.of(testTransaction, second);
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender, receiver));
+        when(transactionRepository.saveAll(batch)).thenReturn(batch);
+
+        List<Transaction> result = transactionService.createTransactions(batch);
+
+        assertEquals(batch, result);
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(ledgerService).recordTransfers(batch);
+    }
+
+    /**
+     * Test de création en lot : une transaction invalide annule tout le lot
+     */
+    @Test
+    void testCreateTransactionsRejectsInvalidEntry() {
+        Transaction selfSend = new Transaction(null, sender, sender, BigDecimal.ONE, null);
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender, receiver));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createTransactions(List.of(testTransaction, selfSend)));
+
+        assertEquals("Impossible d’envoyer de l’argent à soi-même.", exception.getMessage());
+        verify(transactionRepository, never()).saveAll(any());
+        verifyNoInteractions(ledgerService);
+    }
+
+    /**
+     * Test de création avec clé d'idempotence : la clé est enregistrée avec le paiement
+     */
+    @Test
+    void testCreateTransactionRecordsIdempotencyKey() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(sender));
+        when(userRepository.findById(2)).thenReturn(Optional.of(receiver));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+
+        transactionService.createTransaction(testTransaction, "retry-42");
+
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(record.capture());
+        assertEquals("retry-42", record.getValue().getKey());
+        assertEquals(1, record.getValue().getSenderId());
+        assertEquals(1, record.getValue().getTransactionId());
+    }
+
+    /**
+     * Test de l'historique d'un expéditeur sur une période
+     */
+    @Test
+    void testGetTransactionsBySenderInPeriod() {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-02-01T00:00:00Z");
+        when(transactionRepository.findBySenderIdInPeriod(1, from, to, Integer.MAX_VALUE, Limit.of(11)))
+                .thenReturn(List.of(testTransaction));
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, from, to, null, 10);
+
+        assertEquals(List.of(testTransaction), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Test de l'historique d'un destinataire depuis une date, jusqu'à maintenant
+     */
+    @Test
+    void testGetTransactionsByReceiverSince() {
+        Instant from = Instant.now().minus(Duration.ofDays(7));
+        when(transactionRepository.findByReceiverIdInPeriod(eq(2), eq(from), any(Instant.class), eq(50), eq(Limit.of(11))))
+                .thenReturn(List.of(testTransaction));
+
+        assertEquals(List.of(testTransaction), transactionService.getTransactionsByReceiver(2, from, null, 50, 10).items());
+    }
+
+    /**
+     * Test du relevé : 30 derniers jours par défaut, un total par sens, archive comprise
+     */
+    @Test
+    void testGetStatementDefaultsToLast30Days() {
+        Instant to = Instant.parse("2025-03-31T00:00:00Z");
+        Instant from = to.minus(Duration.ofDays(TransactionService.DEFAULT_STATEMENT_DAYS));
+        when(transactionRepository.sumSentInPeriod(1, from, to)).thenReturn(new AmountTotal(new BigDecimal("40.00"), 3));
+        when(transactionRepository.sumReceivedInPeriod(1, from, to)).thenReturn(new AmountTotal(null, 0));
+        when(archivedTransactionRepository.sumSentInPeriod(1, from, to)).thenReturn(new AmountTotal(BigDecimal.ONE, 1));
+        when(archivedTransactionRepository.sumReceivedInPeriod(1, from, to)).thenReturn(new AmountTotal(null, 0));
+
+        TransactionStatement statement = transactionService.getStatement(1, null, to);
+
+        assertEquals(from, statement.from());
+        assertEquals(new BigDecimal("41.00"), statement.totalSent());
+        assertEquals(4, statement.sentCount());
+        assertEquals(BigDecimal.ZERO, statement.totalReceived());
+        assertEquals(0, statement.receivedCount());
+    }
+
+    /**
+     * Test d'une période dont le début ne précède pas la fin
+     */
+    @Test
+    void testInvalidPeriodIsRejected() {
+        Instant date = Instant.parse("2025-01-01T00:00:00Z");
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getStatement(1, date, date));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsBySender(1, date, date.minusSeconds(1), null, null));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    /**
+     * Test d'une page pleine sans ligne archivée plus récente : seules les lignes chaudes sont renvoyées
+     */
+    @Test
+    void testFullPageWithOlderArchiveKeepsHotRows() {
+        Transaction older = new Transaction(0, sender, receiver, BigDecimal.ONE, null);
+        when(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(2)))
+                .thenReturn(List.of(testTransaction, older));
+        when(archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(2)))
+                .thenReturn(List.of());
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, null, 1);
+
+        assertEquals(List.of(testTransaction), page.items());
+        assertEquals(1, page.nextCursor());
+    }
+
+    /**
+     * Test d'une page incomplète : la suite de l'historique est lue dans l'archive
+     */
+    @Test
+    void testIncompletePageContinuesInArchive() {
+        Instant createdAt = Instant.parse("2024-01-05T10:00:00Z");
+        when(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(testTransaction));
+        when(archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(new ArchivedTransaction(0, 1, 2, BigDecimal.TEN, "ancienne", createdAt)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender, receiver));
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertNull(page.nextCursor());
+        Transaction archived = page.items().get(1);
+        assertEquals(0, archived.getId());
+        assertEquals(sender, archived.getSender());
+        assertEquals(receiver, archived.getReceiver());
+        assertEquals(createdAt, archived.getCreatedAt());
+    }
+
+    /**
+     * Test d'ids entrelacés (blocs d'ids de plusieurs instances) : fusion par id décroissant, sans saut ni doublon
+     */
+    @Test
+    void testArchiveRowsAreMergedById() {
+        Instant createdAt = Instant.parse("2024-01-05T10:00:00Z");
+        Transaction t9 = new Transaction(9, sender, receiver, BigDecimal.ONE, "t9");
+        Transaction t5 = new Transaction(5, sender, receiver, BigDecimal.ONE, "t5");
+        when(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(t9, t5));
+        when(archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(new ArchivedTransaction(7, 1, 2, BigDecimal.TEN, "a7", createdAt),
+                        new ArchivedTransaction(3, 1, 2, BigDecimal.TEN, "a3", createdAt)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender, receiver));
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, null, 2);
+
+        assertEquals(List.of(9, 7), page.items().stream().map(Transaction::getId).toList());
+        assertEquals(7, page.nextCursor());
+    }
+
+    /**
+     * Test d'une ligne copiée dans l'archive mais encore chaude (avant DROP PARTITION) : affichée une seule fois
+     */
+    @Test
+    void testRowInBothTablesIsNotDuplicated() {
+        Instant createdAt = Instant.parse("2024-01-05T10:00:00Z");
+        Transaction t7 = new Transaction(7, sender, receiver, BigDecimal.ONE, "t7");
+        Transaction t5 = new Transaction(5, sender, receiver, BigDecimal.ONE, "t5");
+        when(transactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(4)))
+                .thenReturn(List.of(t7, t5));
+        when(archivedTransactionRepository.findBySenderIdAndIdLessThanOrderByIdDesc(1, Integer.MAX_VALUE, Limit.of(4)))
+                .thenReturn(List.of(new ArchivedTransaction(7, 1, 2, BigDecimal.ONE, "t7", createdAt),
+                        new ArchivedTransaction(5, 1, 2, BigDecimal.ONE, "t5", createdAt),
+                        new ArchivedTransaction(3, 1, 2, BigDecimal.TEN, "a3", createdAt)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender, receiver));
+
+        CursorPage<Transaction> page = transactionService.getTransactionsBySender(1, null, 3);
+
+        assertEquals(List.of(7, 5, 3), page.items().stream().map(Transaction::getId).toList());
+        assertSame(t7, page.items().get(0));
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Test de lecture par id d'une transaction archivée
+     */
+    @Test
+    void testGetTransactionByIdFallsBackToArchive() {
+        when(transactionRepository.findById(7)).thenReturn(Optional.empty());
+        when(archivedTransactionRepository.findById(7)).thenReturn(Optional.of(
+                new ArchivedTransaction(7, 1, 2, BigDecimal.ONE, null, Instant.parse("2024-01-05T10:00:00Z"))));
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender, receiver));
+
+        Optional<Transaction> found = transactionService.getTransactionById(7);
+
+        assertTrue(found.isPresent());
+        assertEquals(7, found.get().getId());
+        assertEquals(2, found.get().getReceiver().getId());
+    }
 }
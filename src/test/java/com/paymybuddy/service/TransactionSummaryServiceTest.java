@@ -0,0 +1,129 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dto.TransactionSummary;
+import com.paymybuddy.repository.AccountRepository;
+import com.paymybuddy.repository.AccountStripeRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.repository.UserTransactionSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour TransactionSummaryService avec mocks
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionSummaryServiceTest {
+
+    @Mock
+    private UserTransactionSummaryRepository summaryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountStripeRepository accountStripeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionSummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new TransactionSummaryService(summaryRepository, userRepository, accountRepository,
+                accountStripeRepository, transactionManager, 10, 3);
+    }
+
+    /**
+     * Test de lecture de la synthèse d'un utilisateur
+     */
+    @Test
+    void testGetSummary() {
+        TransactionSummary summary = new TransactionSummary(1, new BigDecimal("12.00"), 2, BigDecimal.ONE, 1);
+        when(summaryRepository.findSummaryByUserId(1)).thenReturn(Optional.of(summary));
+
+        assertEquals(summary, summaryService.getSummary(1));
+    }
+
+    /**
+     * Test de lecture de la synthèse d'un utilisateur sans transaction
+     */
+    @Test
+    void testGetSummaryWithoutRows() {
+        when(summaryRepository.findSummaryByUserId(2)).thenReturn(Optional.empty());
+
+        TransactionSummary summary = summaryService.getSummary(2);
+
+        assertEquals(2, summary.userId());
+        assertEquals(BigDecimal.ZERO, summary.totalSent());
+        assertEquals(0, summary.receivedCount());
+    }
+
+    /**
+     * Test du recalcul : toutes les tranches d'ids sont couvertes, chacune dans sa transaction
+     */
+    @Test
+    void testRebuildCoversAllChunks() {
+        when(userRepository.findMaxId()).thenReturn(25);
+        when(summaryRepository.rebuildRange(anyInt(), anyInt())).thenAnswer(invocation ->
+                (int) invocation.getArgument(1) - (int) invocation.getArgument(0) + 1);
+
+        assertEquals(25, summaryService.rebuild());
+
+        verify(summaryRepository).deleteByUserIdBetween(1, 10);
+        verify(summaryRepository).rebuildRange(1, 10);
+        verify(summaryRepository).rebuildRange(11, 20);
+        verify(summaryRepository).rebuildRange(21, 25);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    /**
+     * Test du verrouillage : comptes puis sous-lignes de la tranche, avant d'effacer ses lignes de synthèse
+     */
+    @Test
+    void testRebuildRangeLocksAccountsBeforeDeleting() {
+        summaryService.rebuildRange(1, 10);
+
+        InOrder order = inOrder(accountRepository, accountStripeRepository, summaryRepository);
+        order.verify(accountRepository).findRangeForUpdate(1, 10);
+        order.verify(accountStripeRepository).findRangeForUpdate(1, 10);
+        order.verify(summaryRepository).deleteByUserIdBetween(1, 10);
+        order.verify(summaryRepository).rebuildRange(1, 10);
+    }
+
+    /**
+     * Test du recalcul sur une base sans utilisateur
+     */
+    @Test
+    void testRebuildWithoutUsers() {
+        when(userRepository.findMaxId()).thenReturn(0);
+
+        assertEquals(0, summaryService.rebuild());
+        verifyNoInteractions(summaryRepository);
+    }
+
+    /**
+     * Test des paramètres de recalcul invalides
+     */
+    @Test
+    void testInvalidRebuildSettings() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new TransactionSummaryService(summaryRepository, userRepository, accountRepository,
+                        accountStripeRepository, transactionManager, 0, 1));
+    }
+}
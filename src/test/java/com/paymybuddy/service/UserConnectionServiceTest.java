@@ -32,6 +32,12 @@ class UserConnectionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FriendGraphIndex friendGraphIndex;
+
+    @Mock
+    private FriendSuggestionService friendSuggestionService;
+
     @InjectMocks
     private UserConnectionService userConnectionService;
 
@@ -68,6 +74,8 @@ class UserConnectionServiceTest {
         assertNotNull(result);
         assertEquals(testConnection, result);
         verify(userConnectionRepository).save(testConnection);
+        verify(friendGraphIndex).add(1, 2);
+        verify(friendSuggestionService).onConnectionChanged(1, 2);
     }
 
     /**
@@ -148,6 +156,8 @@ class UserConnectionServiceTest {
 
         verify(userConnectionRepository).deleteById(argThat(id ->
             id.getUser().equals(1) && id.getConnection().equals(2)));
+        verify(friendGraphIndex).remove(1, 2);
+        verify(friendSuggestionService).onConnectionChanged(1, 2);
     }
 
     /**
@@ -226,4 +236,41 @@ class UserConnectionServiceTest {
         verify(userRepository).findById(1);
         verify(userConnectionRepository).findByUser(user1);
     }
+
+    /**
+     * Test de areConnected avec l'index chargé : aucune requête
+     */
+    @Test
+    void testAreConnectedUsesWarmIndex() {
+        when(friendGraphIndex.isWarm()).thenReturn(true);
+        when(friendGraphIndex.isFriend(1, 2)).thenReturn(true);
+
+        assertTrue(userConnectionService.areConnected(1, 2));
+        verifyNoInteractions(userConnectionRepository);
+    }
+
+    /**
+     * Test de areConnected avant le chargement de l'index : sonde EXISTS
+     */
+    @Test
+    void testAreConnectedFallsBackToExistsQuery() {
+        when(friendGraphIndex.isWarm()).thenReturn(false);
+        when(userConnectionRepository.existsByUserIdAndConnectionId(1, 2)).thenReturn(false);
+
+        assertFalse(userConnectionService.areConnected(1, 2));
+        verify(userConnectionRepository).existsByUserIdAndConnectionId(1, 2);
+    }
+
+    /**
+     * Test de areConnected avec l'index chargé, lien absent de l'index (créé par une autre instance) : sonde EXISTS
+     */
+    @Test
+    void testAreConnectedProbesDatabaseOnIndexMiss() {
+        when(friendGraphIndex.isWarm()).thenReturn(true);
+        when(friendGraphIndex.isFriend(1, 2)).thenReturn(false);
+        when(userConnectionRepository.existsByUserIdAndConnectionId(1, 2)).thenReturn(true);
+
+        assertTrue(userConnectionService.areConnected(1, 2));
+        verify(friendGraphIndex).add(1, 2);
+    }
 }
@@ -2,6 +2,7 @@ package com.paymybuddy.service;
 
 import com.paymybuddy.model.User;
 import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +34,9 @@ class UserServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private LedgerService ledgerService;
+
     @InjectMocks
     private UserService userService;
 
@@ -61,6 +65,7 @@ class UserServiceTest {
         assertNotNull(result);
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(testUser);
+        verify(ledgerService).openAccount(1);
         assertEquals(testUser, result);
     }
 
@@ -89,7 +94,10 @@ class UserServiceTest {
         Optional<User> result = userService.getUserByEmail("test@example.com");
 
         assertTrue(result.isPresent());
-        assertEquals(testUser, result.get());
+        assertEquals(1, result.get().getId());
+        assertEquals("test@example.com", result.get().getEmail());
+        assertEquals("testuser", result.get().getUsername());
+        assertNull(result.get().getPassword());
         verify(userRepository).findByEmail("test@example.com");
     }
 
@@ -116,7 +124,9 @@ class UserServiceTest {
         Optional<User> result = userService.getUserById(1);
 
         assertTrue(result.isPresent());
-        assertEquals(testUser, result.get());
+        assertEquals(1, result.get().getId());
+        assertEquals("testuser", result.get().getUsername());
+        assertNull(result.get().getPassword());
         verify(userRepository).findById(1);
     }
 
@@ -147,6 +157,9 @@ class UserServiceTest {
         assertEquals("password123", result.getPassword());
         assertTrue(result.getAuthorities().stream()
             .anyMatch(authority -> authority.getAuthority().equals("ROLE_USER")));
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, result);
+        assertEquals(1, principal.getId());
+        assertEquals("testuser", principal.getDisplayName());
         verify(userRepository).findByEmail("test@example.com");
     }
 
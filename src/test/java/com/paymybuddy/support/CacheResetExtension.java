@@ -0,0 +1,26 @@
+package com.paymybuddy.support;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Vide les caches Spring avant chaque test (et avant ses @BeforeEach) : les tests d'un même contexte
+ * suppriment leurs données par les repositories, sans passer par les évictions des services, et un
+ * cache d'un test précédent fausserait le résultat comme le nombre d'ordres SQL.
+ */
+public class CacheResetExtension implements BeforeEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SpringExtension.getApplicationContext(context).getBeansOfType(CacheManager.class).values()
+                .forEach(cacheManager -> cacheManager.getCacheNames().stream()
+                        .map(cacheManager::getCache)
+                        .forEach(cache -> {
+                            if (cache != null) {
+                                cache.clear();
+                            }
+                        }));
+    }
+}
@@ -0,0 +1,28 @@
+package com.paymybuddy.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Budget SQL d'un test (une requête HTTP sur une page) : nombre maximal d'ordres SQL, et
+ * éventuellement de lignes lues et de millisecondes. Sur la classe, il s'applique à chaque test
+ * qui n'en déclare pas. Les compteurs ne sont alimentés que dans un contexte {@link QueryBudgetTest}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface MaxQueries {
+
+    /** Nombre maximal d'ordres SQL exécutés. */
+    int value();
+
+    /** Nombre maximal de lignes lues ; -1 : pas de limite. */
+    long rows() default -1;
+
+    /** Durée maximale du test en millisecondes ; -1 : pas de limite. */
+    long millis() default -1;
+}
@@ -0,0 +1,57 @@
+package com.paymybuddy.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Applique {@link MaxQueries} : les compteurs sont remis à zéro après les @BeforeEach (jeu de données)
+ * et vérifiés avant les @AfterEach (nettoyage). Les mesures sont publiées dans le rapport JUnit.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+    private static final String START = "start";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.reset();
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(
+                System.nanoTime() - context.getStore(NAMESPACE).remove(START, Long.class));
+        long statements = QueryCounter.statements();
+        long rows = QueryCounter.rows();
+        context.publishReportEntry(Map.of(
+                "statements", String.valueOf(statements),
+                "rows", String.valueOf(rows),
+                "sqlMillis", String.valueOf(QueryCounter.sqlMillis()),
+                "millis", String.valueOf(millis)));
+
+        // Un test déjà en échec garde son erreur d'origine
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        MaxQueries budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class))
+                .orElseThrow();
+        if (statements > budget.value()) {
+            fail(statements + " ordres SQL exécutés, budget : " + budget.value());
+        }
+        if (budget.rows() >= 0 && rows > budget.rows()) {
+            fail(rows + " lignes lues, budget : " + budget.rows());
+        }
+        if (budget.millis() >= 0 && millis > budget.millis()) {
+            fail(millis + " ms, budget : " + budget.millis() + " ms");
+        }
+    }
+}
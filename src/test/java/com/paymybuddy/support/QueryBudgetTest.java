@@ -0,0 +1,32 @@
+package com.paymybuddy.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contexte complet (sécurité comprise) sur une base H2 dédiée, avec MockMvc et la DataSource
+ * instrumentée : à poser sur une classe (ou une classe @Nested) dont les tests portent {@link MaxQueries}.
+ * Toutes les classes qui l'utilisent partagent le même contexte Spring ; les caches sont vidés avant chaque
+ * test, qui part donc toujours d'un cache froid quel que soit l'ordre d'exécution.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.datasource.url=jdbc:h2:mem:querybudget",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCountingConfiguration.class)
+@ExtendWith(CacheResetExtension.class)
+public @interface QueryBudgetTest {
+}
@@ -0,0 +1,66 @@
+package com.paymybuddy.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs alimentés par le proxy JDBC de {@link QueryCountingConfiguration} : ordres SQL exécutés,
+ * lignes lues et temps passé en base. Un seul jeu de compteurs pour la JVM, remis à zéro avant
+ * chaque test par {@link QueryBudgetExtension} (les tests ne tournent pas en parallèle).
+ */
+public class QueryCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+    private static final AtomicLong ROWS = new AtomicLong();
+    private static final AtomicLong SQL_MILLIS = new AtomicLong();
+
+    public static void reset() {
+        STATEMENTS.set(0);
+        ROWS.set(0);
+        SQL_MILLIS.set(0);
+    }
+
+    public static long statements() {
+        return STATEMENTS.get();
+    }
+
+    public static long rows() {
+        return ROWS.get();
+    }
+
+    public static long sqlMillis() {
+        return SQL_MILLIS.get();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    // Un lot JDBC compte pour un seul aller-retour
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STATEMENTS.incrementAndGet();
+        SQL_MILLIS.addAndGet(execInfo.getElapsedTime());
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    // Chaque ResultSet.next() qui renvoie true est une ligne lue
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            ROWS.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.paymybuddy.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Enveloppe la DataSource du contexte de test dans un proxy datasource-proxy relié à {@link QueryCounter}.
+ * Les ResultSet sont eux aussi interceptés pour compter les lignes lues.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountingConfiguration {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    QueryCounter counter = new QueryCounter();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(counter)
+                            .methodListener(counter)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
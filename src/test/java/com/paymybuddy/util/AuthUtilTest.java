@@ -1,6 +1,7 @@
 package com.paymybuddy.util;
 
 import com.paymybuddy.model.User;
+import com.paymybuddy.security.AuthenticatedUser;
 import com.paymybuddy.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,9 +10,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 
@@ -107,4 +111,46 @@ class AuthUtilTest {
             assertThrows(Exception.class, () -> authUtil.getCurrentUser());
         }
     }
+
+    /**
+     * Test que le principal issu de la connexion évite toute requête sur la table users
+     */
+    @Test
+    void testGetCurrentUserFromSessionPrincipal() {
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getPrincipal())
+                    .thenReturn(new AuthenticatedUser(1, "test@example.com", "testuser", null));
+
+            User result = authUtil.getCurrentUser();
+
+            assertEquals(1, result.getId());
+            assertEquals("test@example.com", result.getEmail());
+            assertEquals("testuser", result.getUsername());
+            assertNull(result.getPassword());
+            verifyNoInteractions(userService);
+        }
+    }
+
+    /**
+     * Test du cache par requête quand le principal ne porte pas l'utilisateur
+     */
+    @Test
+    void testGetCurrentUserIsCachedPerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getName()).thenReturn("test@example.com");
+            when(userService.getUserByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+            assertEquals(testUser, authUtil.getCurrentUser());
+            assertEquals(testUser, authUtil.getCurrentUser());
+
+            verify(userService, times(1)).getUserByEmail("test@example.com");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
 }
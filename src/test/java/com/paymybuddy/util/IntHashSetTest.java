@@ -0,0 +1,92 @@
+package com.paymybuddy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour IntHashSet
+ */
+class IntHashSetTest {
+
+    /**
+     * Test d'ajout, de recherche et de suppression
+     */
+    @Test
+    void testAddContainsRemove() {
+        IntHashSet set = new IntHashSet();
+
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.add(7));
+
+        assertTrue(set.contains(5));
+        assertFalse(set.contains(6));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(5));
+        assertFalse(set.remove(5));
+        assertFalse(set.contains(5));
+        assertTrue(set.contains(7));
+        assertEquals(1, set.size());
+    }
+
+    /**
+     * Test des valeurs refusées : 0 et négatifs marquent les cases libres
+     */
+    @Test
+    void testNonPositiveValues() {
+        IntHashSet set = new IntHashSet();
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(0));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertFalse(set.contains(0));
+        assertFalse(set.remove(0));
+    }
+
+    /**
+     * Test de la copie : les deux ensembles évoluent indépendamment
+     */
+    @Test
+    void testCopyIsIndependent() {
+        IntHashSet set = new IntHashSet();
+        set.add(1);
+
+        IntHashSet copy = set.copy();
+        copy.add(2);
+        copy.remove(1);
+
+        assertTrue(set.contains(1));
+        assertFalse(set.contains(2));
+        assertArrayEquals(new int[]{2}, copy.toSortedArray());
+    }
+
+    /**
+     * Test aléatoire contre HashSet, avec agrandissements et suppressions au milieu des amas
+     */
+    @Test
+    void testMatchesHashSet() {
+        Random random = new Random(42);
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            int value = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (int value = 1; value <= 2_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), set.toSortedArray());
+    }
+}
@@ -0,0 +1,73 @@
+package com.paymybuddy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ZipfSampler
+ */
+class ZipfSamplerTest {
+
+    /**
+     * Test des rangs tirés : toujours dans [0, n[
+     */
+    @Test
+    void testSamplesStayInRange() {
+        ZipfSampler sampler = new ZipfSampler(50, 1.1);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 0 && rank < 50);
+        }
+        assertEquals(50, sampler.size());
+    }
+
+    /**
+     * Test de l'asymétrie : le premier rang est tiré deux fois plus souvent que le second (exposant 1)
+     */
+    @Test
+    void testFirstRanksDominate() {
+        ZipfSampler sampler = new ZipfSampler(1_000, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[1_000];
+
+        for (int i = 0; i < 200_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        double ratio = (double) counts[0] / counts[1];
+        assertEquals(2.0, ratio, 0.2);
+        assertTrue(counts[0] > counts[999] * 100);
+    }
+
+    /**
+     * Test de l'exposant nul : loi uniforme
+     */
+    @Test
+    void testZeroExponentIsUniform() {
+        ZipfSampler sampler = new ZipfSampler(4, 0);
+        SplittableRandom random = new SplittableRandom(3);
+        int[] counts = new int[4];
+
+        for (int i = 0; i < 40_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        for (int count : counts) {
+            assertEquals(10_000, count, 600);
+        }
+    }
+
+    /**
+     * Test des paramètres refusés
+     */
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, -1.0));
+    }
+}
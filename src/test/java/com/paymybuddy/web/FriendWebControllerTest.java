@@ -1,20 +1,37 @@
 package com.paymybuddy.web;
 
 import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserConnection;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.FriendSuggestionService;
 import com.paymybuddy.service.UserConnectionService;
 import com.paymybuddy.service.UserService;
+import com.paymybuddy.support.MaxQueries;
+import com.paymybuddy.support.QueryBudgetTest;
 import com.paymybuddy.util.AuthUtil;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.ui.Model;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class FriendWebControllerTest {
     @Mock
@@ -22,6 +39,8 @@ class FriendWebControllerTest {
     @Mock
     private UserConnectionService userConnectionService;
     @Mock
+    private FriendSuggestionService friendSuggestionService;
+    @Mock
     private AuthUtil authUtil;
     @Mock
     private Model model;
@@ -31,7 +50,7 @@ class FriendWebControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        controller = new FriendWebController(userService, userConnectionService, authUtil);
+        controller = new FriendWebController(userService, userConnectionService, friendSuggestionService, authUtil);
     }
 
     @Test
@@ -45,8 +64,10 @@ class FriendWebControllerTest {
         user.setId(1);
         when(authUtil.getCurrentUser()).thenReturn(user);
         when(userConnectionService.getConnectionsByUser(1)).thenReturn(Collections.emptyList());
+        when(friendSuggestionService.suggestionsFor(1)).thenReturn(Collections.emptyList());
         String view = controller.friendPage(model);
         verify(model).addAttribute(eq("friends"), any());
+        verify(model).addAttribute("suggestions", Collections.emptyList());
         assertEquals("friends", view);
     }
 
@@ -58,4 +79,78 @@ class FriendWebControllerTest {
         verify(model).addAttribute("error", "");
         assertEquals("add-friend", view);
     }
+
+    @Test
+    void testAddFriend() {
+        User user = new User(1, "a@example.com", "a", null);
+        User friend = new User(2, "b@example.com", "b", null);
+        when(authUtil.getCurrentUser()).thenReturn(user);
+        when(userService.getUserByEmail("b@example.com")).thenReturn(Optional.of(friend));
+        when(userConnectionService.areConnected(1, 2)).thenReturn(false);
+        String view = controller.addFriend("b@example.com", model);
+        verify(userConnectionService).createConnection(any());
+        verify(model).addAttribute("msg", "Ami ajouté !");
+        assertEquals("add-friend", view);
+    }
+
+    @Test
+    void testAddFriendAlreadyConnected() {
+        User user = new User(1, "a@example.com", "a", null);
+        User friend = new User(2, "b@example.com", "b", null);
+        when(authUtil.getCurrentUser()).thenReturn(user);
+        when(userService.getUserByEmail("b@example.com")).thenReturn(Optional.of(friend));
+        when(userConnectionService.areConnected(1, 2)).thenReturn(true);
+        String view = controller.addFriend("b@example.com", model);
+        verify(userConnectionService, never()).createConnection(any());
+        verify(model).addAttribute("error", "Cet utilisateur est déjà dans vos amis.");
+        assertEquals("add-friend", view);
+    }
+
+    // Page réelle sur base H2 : l'utilisateur, ses amis joints, les suggestions (instantané en mémoire)
+    @Nested
+    @QueryBudgetTest
+    class QueryBudget {
+        @Autowired
+        private MockMvc mockMvc;
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private UserConnectionService connectionService;
+        @Autowired
+        private FriendSuggestionService suggestionService;
+
+        private final List<UserConnection> connections = new ArrayList<>();
+
+        // Liens créés par le service pour que l'index du graphe les voie, puis passage planifié simulé
+        @BeforeEach
+        void createFriends() {
+            User alice = userRepository.save(new User(null, "alice.budget@example.com", "alice", "password"));
+            User bob = userRepository.save(new User(null, "bob.budget@example.com", "bob", "password"));
+            User carol = userRepository.save(new User(null, "carol.budget@example.com", "carol", "password"));
+            User dave = userRepository.save(new User(null, "dave.budget@example.com", "dave", "password"));
+            for (UserConnection connection : List.of(new UserConnection(alice, bob), new UserConnection(alice, carol),
+                    new UserConnection(bob, dave))) {
+                connections.add(connectionService.createConnection(connection));
+            }
+            suggestionService.rebuildSnapshot();
+        }
+
+        @AfterEach
+        void cleanUp() {
+            for (UserConnection connection : connections) {
+                connectionService.deleteConnection(connection.getUser().getId(), connection.getConnection().getId());
+            }
+            userRepository.deleteAll();
+        }
+
+        @Test
+        @MaxQueries(4)
+        @WithMockUser(username = "alice.budget@example.com")
+        void testFriendPageQueryBudget() throws Exception {
+            mockMvc.perform(get("/friends"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("carol.budget@example.com")))
+                    .andExpect(content().string(containsString("dave")));
+        }
+    }
 }
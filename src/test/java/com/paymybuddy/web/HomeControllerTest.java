@@ -1,6 +1,8 @@
 package com.paymybuddy.web;
 
+import com.paymybuddy.dto.TransactionSummary;
 import com.paymybuddy.model.User;
+import com.paymybuddy.service.TransactionSummaryService;
 import com.paymybuddy.util.AuthUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +32,9 @@ class HomeControllerTest {
     @MockBean
     private AuthUtil authUtil;
 
+    @MockBean
+    private TransactionSummaryService transactionSummaryService;
+
     private User testUser;
 
     @BeforeEach
@@ -62,7 +71,25 @@ class HomeControllerTest {
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("home"))
-                .andExpect(model().attribute("user", (Object) null));
+                .andExpect(model().attribute("user", (Object) null))
+                .andExpect(model().attributeDoesNotExist("summary"));
+        verifyNoInteractions(transactionSummaryService);
+    }
+
+    /**
+     * Test d'affichage des totaux de l'utilisateur connecté
+     */
+    @Test
+    @WithMockUser
+    void testHomeShowsTransactionSummary() throws Exception {
+        TransactionSummary summary = new TransactionSummary(1, new BigDecimal("25.00"), 3, new BigDecimal("7.50"), 1);
+        when(authUtil.getCurrentUser()).thenReturn(testUser);
+        when(transactionSummaryService.getSummary(1)).thenReturn(summary);
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("summary", summary))
+                .andExpect(content().string(containsString("25.00")));
     }
 
     /**
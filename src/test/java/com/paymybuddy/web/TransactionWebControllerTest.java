@@ -1,22 +1,41 @@
 package com.paymybuddy.web;
 
+import com.paymybuddy.dto.CursorPage;
 import com.paymybuddy.model.Transaction;
 import com.paymybuddy.model.User;
+import com.paymybuddy.repository.TransactionRepository;
+import com.paymybuddy.repository.UserRepository;
+import com.paymybuddy.service.PaymentRejections;
 import com.paymybuddy.service.TransactionService;
 import com.paymybuddy.service.UserService;
 import com.paymybuddy.service.UserConnectionService;
+import com.paymybuddy.support.MaxQueries;
+import com.paymybuddy.support.QueryBudgetTest;
 import com.paymybuddy.util.AuthUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.ui.Model;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class TransactionWebControllerTest {
     @Mock
@@ -35,7 +54,8 @@ class TransactionWebControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        controller = new TransactionWebController(transactionService, userService, userConnectionService, authUtil);
+        controller = new TransactionWebController(transactionService, userService, userConnectionService, authUtil,
+                new PaymentRejections(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -48,9 +68,24 @@ class TransactionWebControllerTest {
         User user = new User();
         user.setId(1);
         when(authUtil.getCurrentUser()).thenReturn(user);
-        when(transactionService.getTransactionsBySender(1)).thenReturn(Collections.emptyList());
-        String view = controller.listTransactions(model);
+        when(transactionService.getTransactionViewsBySender(1, null, TransactionService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(Collections.emptyList(), null));
+        String view = controller.listTransactions(null, null, model);
         verify(model).addAttribute(eq("transactions"), any());
+        verify(model).addAttribute("nextCursor", null);
+        assertEquals("transactions", view);
+    }
+
+    @Test
+    void testListTransactionsOfLastDays() {
+        User user = new User();
+        user.setId(1);
+        when(authUtil.getCurrentUser()).thenReturn(user);
+        when(transactionService.getTransactionViewsBySender(eq(1), any(Instant.class), isNull(), isNull(),
+                eq(TransactionService.DEFAULT_PAGE_SIZE))).thenReturn(new CursorPage<>(Collections.emptyList(), null));
+        String view = controller.listTransactions(null, 30, model);
+        verify(model).addAttribute("days", 30);
+        verify(transactionService, never()).getTransactionViewsBySender(any(), any(), any());
         assertEquals("transactions", view);
     }
 
@@ -65,4 +100,80 @@ class TransactionWebControllerTest {
         verify(model).addAttribute(eq("users"), any());
         assertEquals("transaction-form", view);
     }
+
+    @Test
+    void testCreateTransactionRejectsNonFriend() {
+        User sender = new User(1, "a@example.com", "a", null);
+        User stranger = new User(3, "c@example.com", "c", null);
+        when(authUtil.getCurrentUser()).thenReturn(sender);
+        when(userService.getUserById(3)).thenReturn(Optional.of(stranger));
+        when(userConnectionService.areConnected(1, 3)).thenReturn(false);
+        when(userConnectionService.getConnectionsByUser(1)).thenReturn(Collections.emptyList());
+
+        String view = controller.createTransaction(new Transaction(), 3, model);
+
+        assertEquals("transaction-form", view);
+        verify(model).addAttribute("error", "Vous ne pouvez envoyer de l'argent qu'à vos amis.");
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testCreateTransactionToFriend() {
+        User sender = new User(1, "a@example.com", "a", null);
+        User friend = new User(2, "b@example.com", "b", null);
+        when(authUtil.getCurrentUser()).thenReturn(sender);
+        when(userService.getUserById(2)).thenReturn(Optional.of(friend));
+        when(userConnectionService.areConnected(1, 2)).thenReturn(true);
+
+        String view = controller.createTransaction(new Transaction(), 2, model);
+
+        assertEquals("redirect:/transactions", view);
+        verify(transactionService).createTransaction(any(Transaction.class));
+        verify(userConnectionService, never()).getConnectionsByUser(any());
+    }
+
+    // Page réelle sur base H2 : l'utilisateur, la page d'historique en projection, la sonde de l'archive
+    @Nested
+    @QueryBudgetTest
+    class QueryBudget {
+        @Autowired
+        private MockMvc mockMvc;
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @BeforeEach
+        void createTransactions() {
+            User alice = userRepository.save(new User(null, "alice.history@example.com", "alice", "password"));
+            User bob = userRepository.save(new User(null, "bob.history@example.com", "bob", "password"));
+            User carol = userRepository.save(new User(null, "carol.history@example.com", "carol", "password"));
+            transactionRepository.save(new Transaction(null, alice, bob, new BigDecimal("10.00"), "Repas"));
+            transactionRepository.save(new Transaction(null, alice, carol, new BigDecimal("20.00"), "Cinéma"));
+        }
+
+        @AfterEach
+        void cleanUp() {
+            transactionRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+
+        @Test
+        @MaxQueries(3)
+        @WithMockUser(username = "alice.history@example.com")
+        void testHistoryPageQueryBudget() throws Exception {
+            mockMvc.perform(get("/transactions"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("carol")));
+        }
+
+        @Test
+        @MaxQueries(3)
+        @WithMockUser(username = "alice.history@example.com")
+        void testHistoryPageOfLastDaysQueryBudget() throws Exception {
+            mockMvc.perform(get("/transactions").param("days", "30"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("bob")));
+        }
+    }
 }